@@ -27,7 +27,8 @@ android {
 
         val configVariables = arrayOf(
             "INFURA_API_KEY", "RPC_URL", "TOKEN_CONTRACT_ADDRESS", "GOVERNOR_CONTRACT_ADDRESS",
-            "LOCAL_RPC_URL", "BLOCK_TIME", "CHAIN_ID"
+            "MULTICALL_CONTRACT_ADDRESS",
+            "LOCAL_RPC_URL", "WS_RPC_URL", "BLOCK_TIME", "CHAIN_ID"
         )
         for (variable in configVariables)
             buildConfigField("String", variable, "\"${getConfigVariable(variable)}\"")
@@ -78,6 +79,11 @@ dependencies {
     // Web3j
     implementation(libs.core)
 
+    // Room
+    implementation(libs.androidx.room.runtime)
+    implementation(libs.androidx.room.ktx)
+    kapt(libs.androidx.room.compiler)
+
     // Hilt
     implementation(libs.hilt.android)
     implementation(libs.firebase.firestore)
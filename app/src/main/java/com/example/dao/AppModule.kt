@@ -2,6 +2,11 @@ package com.example.dao
 
 import android.app.Application
 import android.content.Context
+import androidx.room.Room
+import com.example.dao.chain.BatchingWeb3jService
+import com.example.dao.chain.CachingWeb3jService
+import com.example.dao.chain.CoalescingWeb3jService
+import com.example.dao.data.EventDatabase
 import dagger.Module
 import dagger.Provides
 import dagger.hilt.InstallIn
@@ -12,6 +17,9 @@ import io.metamask.androidsdk.DappMetadata
 import io.metamask.androidsdk.Ethereum
 import io.metamask.androidsdk.EthereumFlow
 import io.metamask.androidsdk.SDKOptions
+import org.web3j.protocol.Web3j
+import org.web3j.protocol.http.HttpService
+import javax.inject.Singleton
 
 @HiltAndroidApp
 class App : Application() {
@@ -42,4 +50,36 @@ internal object AppModule {
             )
         )
     }
+
+    @Provides
+    @Singleton
+    fun provideBatchingWeb3jService(): BatchingWeb3jService {
+        return BatchingWeb3jService(HttpService(BuildConfig.RPC_URL))
+    }
+
+    @Provides
+    @Singleton
+    fun provideCoalescingWeb3jService(batchingService: BatchingWeb3jService): CoalescingWeb3jService {
+        return CoalescingWeb3jService(batchingService)
+    }
+
+    @Provides
+    @Singleton
+    fun provideCachingWeb3jService(coalescingService: CoalescingWeb3jService): CachingWeb3jService {
+        return CachingWeb3jService(coalescingService)
+    }
+
+    @Provides
+    @Singleton
+    fun provideWeb3j(cachingService: CachingWeb3jService): Web3j {
+        return Web3j.build(cachingService)
+    }
+
+    @Provides
+    @Singleton
+    fun provideEventDatabase(@ApplicationContext context: Context): EventDatabase {
+        return Room.databaseBuilder(context, EventDatabase::class.java, "events.db")
+            .fallbackToDestructiveMigration()
+            .build()
+    }
 }
\ No newline at end of file
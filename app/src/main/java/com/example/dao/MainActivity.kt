@@ -85,7 +85,7 @@ fun MainUI(mvm: MainViewModel, modifier: Modifier = Modifier) {
                 .fillMaxSize()
                 .padding(it)
         ) {
-            LazyProposals(proposals.reversed(), mvm)
+            LazyProposals(proposals.items, mvm)
         }
     }
 
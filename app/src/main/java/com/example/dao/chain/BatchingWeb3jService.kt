@@ -0,0 +1,122 @@
+package com.example.dao.chain
+
+import org.web3j.protocol.Web3jService
+import org.web3j.protocol.core.BatchRequest
+import org.web3j.protocol.core.Request
+import org.web3j.protocol.core.Response
+import java.io.IOException
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledFuture
+import java.util.concurrent.TimeUnit
+
+/**
+ * Collects `eth_call`s issued within [windowMillis] of each other, or inside a [batch] scope, and
+ * sends them to [delegate] as one JSON-RPC batch array. Every other method goes straight through.
+ */
+class BatchingWeb3jService(
+    private val delegate: Web3jService,
+    private val windowMillis: Long = 10
+) : Web3jService by delegate {
+    private val lock = Any()
+    private val pending = mutableListOf<PendingCall<*>>()
+    private val scheduler = Executors.newSingleThreadScheduledExecutor()
+    private var scheduledFlush: ScheduledFuture<*>? = null
+    private var openScopes = 0
+
+    override fun <T : Response<*>> sendAsync(
+        request: Request<*, *>,
+        responseType: Class<T>
+    ): CompletableFuture<T> {
+        if (request.method != BATCHED_METHOD) return delegate.sendAsync(request, responseType)
+        val call = PendingCall(request, responseType)
+        synchronized(lock) {
+            pending.add(call)
+            if (openScopes == 0 && scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(::flush, windowMillis, TimeUnit.MILLISECONDS)
+            }
+        }
+        return call.future
+    }
+
+    override fun <T : Response<*>> send(request: Request<*, *>, responseType: Class<T>): T {
+        if (request.method != BATCHED_METHOD) return delegate.send(request, responseType)
+        try {
+            return sendAsync(request, responseType).get()
+        } catch (e: ExecutionException) {
+            throw e.cause as? IOException ?: IOException(e.cause)
+        }
+    }
+
+    /**
+     * Holds back every `eth_call` issued while [block] runs and sends them as a single batch when
+     * it returns. [block] must only start requests asynchronously and not wait for their results.
+     */
+    fun <R> batch(block: () -> R): R {
+        synchronized(lock) { openScopes++ }
+        try {
+            return block()
+        } finally {
+            val flushNow = synchronized(lock) { --openScopes == 0 }
+            if (flushNow) scheduler.execute(::flush)
+        }
+    }
+
+    override fun close() {
+        scheduler.shutdown()
+        delegate.close()
+    }
+
+    private fun flush() {
+        val calls = synchronized(lock) {
+            scheduledFlush = null
+            if (openScopes > 0) return
+            pending.toList().also { pending.clear() }
+        }
+        when (calls.size) {
+            0 -> return
+            1 -> calls[0].sendAlone()
+            else -> sendBatch(calls)
+        }
+    }
+
+    private fun sendBatch(calls: List<PendingCall<*>>) {
+        val batchRequest = BatchRequest(delegate)
+        calls.forEach { batchRequest.add(it.request) }
+        try {
+            val responses = delegate.sendBatch(batchRequest).responses.associateBy { it.id }
+            for (call in calls) {
+                val response = responses[call.request.id]
+                if (response != null) {
+                    call.complete(response)
+                } else {
+                    call.future.completeExceptionally(IOException("No response to request ${call.request.id}"))
+                }
+            }
+        } catch (e: Exception) {
+            calls.forEach { it.future.completeExceptionally(e) }
+        }
+    }
+
+    private inner class PendingCall<T : Response<*>>(
+        val request: Request<*, *>,
+        private val responseType: Class<T>
+    ) {
+        val future = CompletableFuture<T>()
+
+        fun complete(response: Response<*>) {
+            future.complete(responseType.cast(response))
+        }
+
+        fun sendAlone() {
+            delegate.sendAsync(request, responseType).whenComplete { response, error ->
+                if (error != null) future.completeExceptionally(error) else future.complete(response)
+            }
+        }
+    }
+
+    private companion object {
+        const val BATCHED_METHOD = "eth_call"
+    }
+}
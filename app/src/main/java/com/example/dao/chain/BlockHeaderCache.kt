@@ -0,0 +1,80 @@
+package com.example.dao.chain
+
+import android.util.LruCache
+import com.example.dao.data.CachedHeaderEntity
+import com.example.dao.data.EventDatabase
+import org.web3j.protocol.Web3j
+import org.web3j.protocol.core.DefaultBlockParameter
+import org.web3j.protocol.core.methods.response.EthBlock
+import java.math.BigInteger
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Process-wide cache of block headers backed by an in-memory LRU and the `header_cache` table,
+ * so each past block is requested from the node at most once while it is cached. The table keeps
+ * the [MAX_ROWS] newest headers.
+ */
+@Singleton
+class BlockHeaderCache @Inject constructor(
+    private val web3: Web3j,
+    database: EventDatabase
+) {
+    private val headerDao = database.cachedHeaderDao()
+    private val byNumber = LruCache<Long, CachedHeaderEntity>(CAPACITY)
+    private val byHash = LruCache<String, CachedHeaderEntity>(CAPACITY)
+
+    /** @return the header of block [number], or null when the chain has not reached it yet */
+    fun header(number: BigInteger): CachedHeaderEntity? {
+        val key = number.toLong()
+        byNumber[key]?.let { return it }
+        val header = headerDao.byNumber(key)
+            ?: fetch(DefaultBlockParameter.valueOf(number))?.also { store(it) }
+            ?: return null
+        remember(header)
+        return header
+    }
+
+    fun header(hash: String): CachedHeaderEntity? {
+        byHash[hash]?.let { return it }
+        val header = headerDao.byHash(hash)
+            ?: web3.ethGetBlockByHash(hash, false).send().block?.let { toEntity(it) }
+                ?.also { store(it) }
+            ?: return null
+        remember(header)
+        return header
+    }
+
+    fun put(header: CachedHeaderEntity) {
+        store(header)
+        remember(header)
+    }
+
+    /** Drops headers above [number] after a reorg replaced them. */
+    fun invalidateAbove(number: Long) {
+        headerDao.deleteAbove(number)
+        byNumber.snapshot().keys.filter { it > number }.forEach { byNumber.remove(it) }
+        byHash.snapshot().filterValues { it.number > number }.keys.forEach { byHash.remove(it) }
+    }
+
+    private fun fetch(block: DefaultBlockParameter): CachedHeaderEntity? =
+        web3.ethGetBlockByNumber(block, false).send().block?.let { toEntity(it) }
+
+    private fun store(header: CachedHeaderEntity) {
+        headerDao.insert(header)
+        headerDao.keepLatest(MAX_ROWS)
+    }
+
+    private fun remember(header: CachedHeaderEntity) {
+        byNumber.put(header.number, header)
+        byHash.put(header.hash, header)
+    }
+
+    private fun toEntity(block: EthBlock.Block) =
+        CachedHeaderEntity(block.number.toLong(), block.hash, block.timestamp.toLong())
+
+    private companion object {
+        const val CAPACITY = 1024
+        const val MAX_ROWS = 1024
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.dao.chain
+
+import java.util.TreeMap
+import kotlin.math.roundToLong
+
+/**
+ * Sampled (block number, timestamp) pairs that answer conversions between the two. Answers
+ * interpolate between the two nearest samples, found in O(log n), and extrapolate beyond them
+ * with a block time fitted by least squares over all samples, or [defaultBlockTime] without two.
+ *
+ * Past [maxSamples], the sample closest to its older neighbour is dropped, sparing the oldest
+ * one and the newest [recentSamples], so the samples thin out over the history rather than
+ * forgetting old anchors to consecutive heads.
+ */
+class BlockSamples(
+    private val defaultBlockTime: Double,
+    private val maxSamples: Int = 256,
+    private val recentSamples: Int = 32
+) {
+    private val timestampsByNumber = TreeMap<Long, Long>()
+    private val numbersByTimestamp = TreeMap<Long, Long>()
+    private var blockTime = defaultBlockTime
+
+    init {
+        require(maxSamples > recentSamples + 1) { "maxSamples must leave room for old samples" }
+    }
+
+    val size: Int get() = timestampsByNumber.size
+
+    val newest: Long? get() = timestampsByNumber.lastEntry()?.key
+
+    fun add(number: Long, timestamp: Long) {
+        timestampsByNumber.put(number, timestamp)?.let { numbersByTimestamp.remove(it, number) }
+        numbersByTimestamp[timestamp] = number
+        while (timestampsByNumber.size > maxSamples) dropDensest()
+        blockTime = fitBlockTime()
+    }
+
+    /** @return the (estimated) timestamp in seconds of block [number] */
+    fun timestampOf(number: Long): Long {
+        timestampsByNumber[number]?.let { return it }
+        val below = timestampsByNumber.floorEntry(number)
+        val above = timestampsByNumber.ceilingEntry(number)
+        return when {
+            below != null && above != null ->
+                below.value + (above.value - below.value) * (number - below.key) / (above.key - below.key)
+            below != null -> below.value + ((number - below.key) * blockTime).roundToLong()
+            above != null -> above.value - ((above.key - number) * blockTime).roundToLong()
+            else -> throw IllegalStateException("No block samples to estimate block $number")
+        }
+    }
+
+    /** @return the (estimated) number of the last block mined at or before [timestamp] seconds */
+    fun numberAt(timestamp: Long): Long {
+        val below = numbersByTimestamp.floorEntry(timestamp)
+        val above = numbersByTimestamp.ceilingEntry(timestamp)
+        return when {
+            below != null && above != null && above.key != below.key ->
+                below.value + (above.value - below.value) * (timestamp - below.key) / (above.key - below.key)
+            below != null -> below.value + ((timestamp - below.key) / blockTime).toLong()
+            above != null -> above.value - ((above.key - timestamp) / blockTime).toLong()
+            else -> throw IllegalStateException("No block samples to estimate time $timestamp")
+        }
+    }
+
+    /** Drops samples above [number]. */
+    fun invalidateAbove(number: Long) {
+        val dropped = timestampsByNumber.tailMap(number, false)
+        for ((droppedNumber, timestamp) in dropped) numbersByTimestamp.remove(timestamp, droppedNumber)
+        dropped.clear()
+        blockTime = fitBlockTime()
+    }
+
+    private fun dropDensest() {
+        val numbers = timestampsByNumber.keys.toList()
+        var densest = 1
+        for (i in 2 until numbers.size - recentSamples) {
+            if (numbers[i] - numbers[i - 1] < numbers[densest] - numbers[densest - 1]) densest = i
+        }
+        val number = numbers[densest]
+        numbersByTimestamp.remove(timestampsByNumber.remove(number)!!, number)
+    }
+
+    private fun fitBlockTime(): Double {
+        if (timestampsByNumber.size < 2) return defaultBlockTime
+        val meanNumber = timestampsByNumber.keys.average()
+        val meanTimestamp = timestampsByNumber.values.average()
+        var covariance = 0.0
+        var variance = 0.0
+        for ((number, timestamp) in timestampsByNumber) {
+            covariance += (number - meanNumber) * (timestamp - meanTimestamp)
+            variance += (number - meanNumber) * (number - meanNumber)
+        }
+        return if (variance > 0 && covariance > 0) covariance / variance else defaultBlockTime
+    }
+}
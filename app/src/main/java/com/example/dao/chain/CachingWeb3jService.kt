@@ -0,0 +1,87 @@
+package com.example.dao.chain
+
+import android.util.LruCache
+import org.web3j.protocol.Web3jService
+import org.web3j.protocol.core.DefaultBlockParameter
+import org.web3j.protocol.core.DefaultBlockParameterNumber
+import org.web3j.protocol.core.Request
+import org.web3j.protocol.core.Response
+import org.web3j.protocol.core.methods.request.Transaction
+import java.io.IOException
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ExecutionException
+
+/**
+ * Memoizes successful `eth_call` results by contract, calldata and block. Calls pinned to a block
+ * number are kept until evicted or reorged out; calls at a block tag live until the next head.
+ */
+class CachingWeb3jService(private val delegate: Web3jService) : Web3jService by delegate {
+    private val pinned = LruCache<CallKey, Response<*>>(CAPACITY)
+    private val atTag = ConcurrentHashMap<CallKey, Response<*>>()
+    @Volatile private var generation = 0
+    private var head: Long? = null
+
+    private data class CallKey(val to: String, val data: String, val block: Long?, val tag: String?)
+
+    override fun <T : Response<*>> sendAsync(
+        request: Request<*, *>,
+        responseType: Class<T>
+    ): CompletableFuture<T> {
+        val key = keyOf(request) ?: return delegate.sendAsync(request, responseType)
+        val cached = if (key.block != null) pinned[key] else atTag[key]
+        if (cached != null) return CompletableFuture.completedFuture(responseType.cast(cached))
+        val startedAt = generation
+        return delegate.sendAsync(request, responseType).thenApply { response ->
+            if (!response.hasError()) {
+                if (key.block != null) pinned.put(key, response)
+                else if (startedAt == generation) atTag[key] = response
+            }
+            response
+        }
+    }
+
+    override fun <T : Response<*>> send(request: Request<*, *>, responseType: Class<T>): T {
+        if (keyOf(request) == null) return delegate.send(request, responseType)
+        try {
+            return sendAsync(request, responseType).get()
+        } catch (e: ExecutionException) {
+            throw e.cause as? IOException ?: IOException(e.cause)
+        }
+    }
+
+    /** Forgets calls made at `latest` and other tags once the head moves past [number]. */
+    fun onNewHead(number: Long) {
+        if (number == head) return
+        head = number
+        clearTagged()
+    }
+
+    /** Drops calls pinned to blocks above [number] after a reorg replaced them. */
+    fun invalidateAbove(number: Long) {
+        clearTagged()
+        pinned.snapshot().keys.filter { it.block!! > number }.forEach { pinned.remove(it) }
+    }
+
+    private fun clearTagged() {
+        generation++
+        atTag.clear()
+    }
+
+    private fun keyOf(request: Request<*, *>): CallKey? {
+        if (request.method != CACHED_METHOD) return null
+        val transaction = request.params.getOrNull(0) as? Transaction ?: return null
+        val block = request.params.getOrNull(1) as? DefaultBlockParameter ?: return null
+        val to = transaction.to?.lowercase() ?: return null
+        return if (block is DefaultBlockParameterNumber) {
+            CallKey(to, transaction.data, block.blockNumber.toLong(), null)
+        } else {
+            CallKey(to, transaction.data, null, block.value)
+        }
+    }
+
+    private companion object {
+        const val CACHED_METHOD = "eth_call"
+        const val CAPACITY = 4096
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.dao.chain
+
+import android.util.Log
+import com.example.dao.BuildConfig
+import com.example.dao.data.CachedHeaderEntity
+import com.example.dao.data.EventDatabase
+import com.example.dao.sync.ChainHead
+import java.math.BigInteger
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Converts between block numbers and timestamps without RPC, from [BlockSamples] of sampled
+ * headers. Every new head is added as a sample, so estimates of future blocks correct themselves
+ * as the chain advances. Only a head every few dozen blocks goes into the header cache, enough
+ * to seed the samples on the next launch. Without two stored samples, e.g. on a fresh install, a
+ * header [SEED_SPAN] blocks below the head is fetched from the sync thread as a second anchor.
+ */
+@Singleton
+class ChainTime @Inject constructor(
+    private val headerCache: BlockHeaderCache,
+    database: EventDatabase
+) {
+    private val headerDao = database.cachedHeaderDao()
+    private val samples = BlockSamples(BuildConfig.BLOCK_TIME.toDouble(), MAX_SAMPLES)
+    private val TAG = "ChainTime"
+    private var seeded = false
+    private var lastPersisted: Long? = null
+
+    fun onHead(head: ChainHead) {
+        val number = head.number.toLong()
+        addSample(number, head.timestamp.toLong())
+        val persisted = lastPersisted
+        if (persisted == null || number !in persisted until persisted + PERSIST_SPACING) {
+            headerCache.put(CachedHeaderEntity(number, head.hash, head.timestamp.toLong()))
+            lastPersisted = number
+        }
+        val anchor = synchronized(this) {
+            ensureSeeded()
+            if (samples.size < 2) maxOf(0, number - SEED_SPAN) else null
+        } ?: return
+        try {
+            headerCache.header(BigInteger.valueOf(anchor))?.let { addSample(it.number, it.timestamp) }
+        } catch (e: Exception) {
+            // Estimates fall back to the default block time; the anchor is fetched again on the next head
+            Log.w(TAG, "Could not fetch anchor header $anchor", e)
+        }
+    }
+
+    @Synchronized
+    fun addSample(number: Long, timestamp: Long) = samples.add(number, timestamp)
+
+    /** @return the (estimated) timestamp in seconds of block [number] */
+    @Synchronized
+    fun timestampOf(number: Long): Long {
+        ensureSeeded()
+        return samples.timestampOf(number)
+    }
+
+    /** @return the (estimated) number of the last block mined at or before [timestamp] seconds */
+    @Synchronized
+    fun numberAt(timestamp: Long): Long {
+        ensureSeeded()
+        return samples.numberAt(timestamp)
+    }
+
+    /** Drops samples above [number] after a reorg replaced them. */
+    @Synchronized
+    fun invalidateAbove(number: Long) = samples.invalidateAbove(number)
+
+    /** Adds the stored headers as samples once; never touches the network. */
+    private fun ensureSeeded() {
+        if (seeded) return
+        headerDao.latest(MAX_SAMPLES).forEach { samples.add(it.number, it.timestamp) }
+        seeded = true
+    }
+
+    private companion object {
+        const val MAX_SAMPLES = 256
+        const val SEED_SPAN = 10_000L
+        const val PERSIST_SPACING = 64L
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.dao.chain
+
+import org.web3j.protocol.ObjectMapperFactory
+import org.web3j.protocol.Web3jService
+import org.web3j.protocol.core.Request
+import org.web3j.protocol.core.Response
+import java.io.IOException
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Lets concurrent callers of the same read request share one in-flight future. Requests are keyed
+ * by method and serialized params, which include the block tag. Writes always go through.
+ */
+class CoalescingWeb3jService(private val delegate: Web3jService) : Web3jService by delegate {
+    private val inFlight = ConcurrentHashMap<String, CompletableFuture<Response<*>>>()
+    private val mapper = ObjectMapperFactory.getObjectMapper()
+    private val _requests = AtomicLong()
+    private val _coalescedHits = AtomicLong()
+
+    val requests: Long get() = _requests.get()
+    val coalescedHits: Long get() = _coalescedHits.get()
+
+    override fun <T : Response<*>> sendAsync(
+        request: Request<*, *>,
+        responseType: Class<T>
+    ): CompletableFuture<T> {
+        if (request.method !in COALESCED_METHODS) return delegate.sendAsync(request, responseType)
+        _requests.incrementAndGet()
+        val key = request.method + mapper.writeValueAsString(request.params)
+        var leader = false
+        val shared = inFlight.computeIfAbsent(key) {
+            leader = true
+            CompletableFuture()
+        }
+        if (!leader) {
+            _coalescedHits.incrementAndGet()
+        } else {
+            try {
+                delegate.sendAsync(request, responseType).whenComplete { response, error ->
+                    inFlight.remove(key, shared)
+                    if (error != null) shared.completeExceptionally(error) else shared.complete(response)
+                }
+            } catch (e: Exception) {
+                inFlight.remove(key, shared)
+                shared.completeExceptionally(e)
+            }
+        }
+        return shared.thenApply { responseType.cast(it) }
+    }
+
+    override fun <T : Response<*>> send(request: Request<*, *>, responseType: Class<T>): T {
+        if (request.method !in COALESCED_METHODS) return delegate.send(request, responseType)
+        try {
+            return sendAsync(request, responseType).get()
+        } catch (e: ExecutionException) {
+            throw e.cause as? IOException ?: IOException(e.cause)
+        }
+    }
+
+    private companion object {
+        val COALESCED_METHODS = setOf(
+            "eth_call",
+            "eth_blockNumber",
+            "eth_chainId",
+            "eth_getBalance",
+            "eth_getBlockByNumber",
+            "eth_getBlockByHash",
+            "eth_getLogs",
+            "eth_getTransactionReceipt"
+        )
+    }
+}
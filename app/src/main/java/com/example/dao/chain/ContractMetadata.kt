@@ -0,0 +1,58 @@
+package com.example.dao.chain
+
+import android.util.Log
+import com.example.dao.BuildConfig
+import com.example.dao.data.ContractMetadataEntity
+import com.example.dao.data.EventDatabase
+import java.util.concurrent.ConcurrentHashMap
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Values that never change for a deployed contract, such as `timelock()`, persisted
+ * per chain and address so they are fetched from the node once rather than on every launch.
+ */
+@Singleton
+class ContractMetadata @Inject constructor(database: EventDatabase) {
+    private val TAG = "ContractMetadata"
+    private val metadataDao = database.contractMetadataDao()
+    private val chainId = BuildConfig.CHAIN_ID
+    private val values = ConcurrentHashMap<String, String>()
+
+    /** @return the stored value, fetching and storing it with [fetch] when there is none yet */
+    fun get(address: String, key: String, fetch: () -> String): String =
+        cached(address, key) ?: fetch().also { put(address, key, it) }
+
+    fun cached(address: String, key: String): String? =
+        values[keyOf(address, key)]
+            ?: metadataDao.valueOf(chainId, address.lowercase(), key)
+                ?.also { values[keyOf(address, key)] = it }
+
+    /**
+     * Re-reads a stored value in case the address was redeployed, e.g. on a local chain.
+     *
+     * @return whether the value changed, so that callers holding the old one can drop it
+     */
+    fun refresh(address: String, key: String, fetch: () -> String): Boolean {
+        try {
+            val value = fetch()
+            if (value == cached(address, key)) return false
+            put(address, key, value)
+            return true
+        } catch (e: Exception) {
+            Log.w(TAG, "Could not refresh $key of $address", e)
+            return false
+        }
+    }
+
+    private fun put(address: String, key: String, value: String) {
+        metadataDao.upsert(ContractMetadataEntity(chainId, address.lowercase(), key, value))
+        values[keyOf(address, key)] = value
+    }
+
+    private fun keyOf(address: String, key: String) = "${address.lowercase()}/$key"
+
+    companion object {
+        const val TIMELOCK = "timelock"
+    }
+}
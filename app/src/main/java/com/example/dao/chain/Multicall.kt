@@ -0,0 +1,70 @@
+package com.example.dao.chain
+
+import org.web3j.abi.FunctionEncoder
+import org.web3j.abi.FunctionReturnDecoder
+import org.web3j.abi.TypeReference
+import org.web3j.abi.datatypes.Address
+import org.web3j.abi.datatypes.DynamicArray
+import org.web3j.abi.datatypes.DynamicBytes
+import org.web3j.abi.datatypes.DynamicStruct
+import org.web3j.abi.datatypes.Function
+import org.web3j.abi.datatypes.Type
+import org.web3j.abi.datatypes.generated.Uint256
+import org.web3j.protocol.Web3j
+import org.web3j.protocol.core.DefaultBlockParameter
+import org.web3j.protocol.core.RemoteFunctionCall
+import org.web3j.protocol.core.methods.request.Transaction
+import org.web3j.utils.Numeric
+import java.io.IOException
+import java.math.BigInteger
+
+/**
+ * Packs view calls against any contracts into a single `aggregate((address,bytes)[])` call of a
+ * Multicall-style aggregator, so they execute once on the node against the same block.
+ */
+class Multicall(private val web3: Web3j, private val address: String) {
+
+    class ContractCall(val target: String, val call: RemoteFunctionCall<*>)
+
+    class Result(val blockNumber: BigInteger, val outputs: List<List<Type<*>>>)
+
+    private class Call(target: String, callData: ByteArray) :
+        DynamicStruct(Address(target), DynamicBytes(callData))
+
+    fun aggregate(calls: List<ContractCall>, block: DefaultBlockParameter): Result {
+        if (calls.isEmpty()) return Result(BigInteger.ZERO, emptyList())
+        val function = Function(
+            FUNC_AGGREGATE,
+            listOf(
+                DynamicArray(
+                    Call::class.java,
+                    calls.map { Call(it.target, Numeric.hexStringToByteArray(it.call.encodeFunctionCall())) }
+                )
+            ),
+            listOf(
+                object : TypeReference<Uint256>() {},
+                object : TypeReference<DynamicArray<DynamicBytes>>() {}
+            )
+        )
+        val response = web3.ethCall(
+            Transaction.createEthCallTransaction(null, address, FunctionEncoder.encode(function)),
+            block
+        ).send()
+        if (response.hasError()) throw IOException("Multicall failed: ${response.error.message}")
+
+        val decoded = FunctionReturnDecoder.decode(response.value, function.outputParameters)
+        val blockNumber = decoded[0].value as BigInteger
+        @Suppress("UNCHECKED_CAST")
+        val returnData = (decoded[1] as DynamicArray<DynamicBytes>).value
+        return Result(
+            blockNumber,
+            calls.zip(returnData).map { (call, data) ->
+                call.call.decodeFunctionResponse(Numeric.toHexString(data.value))
+            }
+        )
+    }
+
+    private companion object {
+        const val FUNC_AGGREGATE = "aggregate"
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.dao.chain
+
+import android.util.Log
+import org.web3j.protocol.Web3j
+import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt
+import org.web3j.protocol.core.methods.response.TransactionReceipt
+
+/**
+ * Watches submitted transactions until they are mined. Due receipts are requested in a single
+ * JSON-RPC batch; a transaction that is still pending is asked about again after a delay that
+ * doubles up to [maxDelayMillis], or as soon as [onNewHead] reports a new block.
+ */
+class TransactionTracker(
+    private val web3: Web3j,
+    private val initialDelayMillis: Long = 1_000,
+    private val maxDelayMillis: Long = 30_000,
+    private val timeoutMillis: Long = 30 * 60_000
+) {
+    private val TAG = "TransactionTracker"
+    private val pending = LinkedHashMap<String, Pending>()
+
+    private class Pending(val hash: String, val submittedAt: Long) {
+        var delay = 0L
+        var dueAt = submittedAt
+    }
+
+    val isIdle: Boolean
+        @Synchronized get() = pending.isEmpty()
+
+    @Synchronized
+    fun track(hash: String) {
+        pending[hash] = Pending(hash, System.currentTimeMillis())
+    }
+
+    /** Makes every pending transaction due, since the new block may include it. */
+    @Synchronized
+    fun onNewHead() {
+        pending.values.forEach { it.dueAt = 0 }
+    }
+
+    /** @return receipts of the due transactions that have been mined, which stop being tracked */
+    fun poll(): List<TransactionReceipt> {
+        val now = System.currentTimeMillis()
+        val due = synchronized(this) { pending.values.filter { it.dueAt <= now } }
+        if (due.isEmpty()) return emptyList()
+
+        val batch = web3.newBatch()
+        due.forEach { batch.add(web3.ethGetTransactionReceipt(it.hash)) }
+        val requestIds = batch.requests.map { it.id }
+        val responses = batch.send().responses.associateBy { it.id }
+
+        val mined = ArrayList<TransactionReceipt>()
+        synchronized(this) {
+            for ((transaction, id) in due.zip(requestIds)) {
+                val receipt = (responses[id] as? EthGetTransactionReceipt)?.transactionReceipt?.orElse(null)
+                when {
+                    receipt != null -> {
+                        pending.remove(transaction.hash)
+                        mined.add(receipt)
+                    }
+                    now - transaction.submittedAt > timeoutMillis -> {
+                        pending.remove(transaction.hash)
+                        Log.w(TAG, "Gave up waiting for transaction ${transaction.hash}")
+                    }
+                    else -> {
+                        transaction.delay = (transaction.delay * 2).coerceIn(initialDelayMillis, maxDelayMillis)
+                        transaction.dueAt = now + transaction.delay
+                    }
+                }
+            }
+        }
+        return mined
+    }
+}
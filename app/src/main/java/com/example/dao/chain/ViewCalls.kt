@@ -0,0 +1,27 @@
+package com.example.dao.chain
+
+import org.web3j.abi.datatypes.Type
+import org.web3j.protocol.Web3j
+import org.web3j.protocol.core.DefaultBlockParameter
+import org.web3j.protocol.core.DefaultBlockParameterName
+import org.web3j.protocol.core.RemoteFunctionCall
+import org.web3j.protocol.core.methods.request.Transaction
+import java.io.IOException
+import java.util.concurrent.CompletableFuture
+
+/**
+ * Issues the view call as a raw `eth_call` on the calling thread, so that it joins the enclosing
+ * [BatchingWeb3jService.batch] scope, and decodes the outputs of the wrapped function.
+ */
+fun RemoteFunctionCall<*>.ethCallAsync(
+    web3: Web3j,
+    contractAddress: String,
+    block: DefaultBlockParameter = DefaultBlockParameterName.LATEST
+): CompletableFuture<List<Type<*>>> =
+    web3.ethCall(
+        Transaction.createEthCallTransaction(null, contractAddress, encodeFunctionCall()),
+        block
+    ).sendAsync().thenApply { response ->
+        if (response.hasError()) throw IOException("eth_call failed: ${response.error.message}")
+        decodeFunctionResponse(response.value)
+    }
@@ -0,0 +1,24 @@
+package com.example.dao.data
+
+import androidx.room.Dao
+import androidx.room.Insert
+import androidx.room.OnConflictStrategy
+import androidx.room.Query
+
+@Dao
+interface BlockHeaderDao {
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    fun insert(header: BlockHeaderEntity)
+
+    @Query("SELECT * FROM canonical_headers ORDER BY number DESC LIMIT 1")
+    fun latest(): BlockHeaderEntity?
+
+    @Query("SELECT * FROM canonical_headers WHERE number <= :number ORDER BY number DESC")
+    fun atOrBelow(number: Long): List<BlockHeaderEntity>
+
+    @Query("DELETE FROM canonical_headers WHERE number > :number")
+    fun deleteAbove(number: Long)
+
+    @Query("DELETE FROM canonical_headers WHERE number < :number")
+    fun deleteBelow(number: Long)
+}
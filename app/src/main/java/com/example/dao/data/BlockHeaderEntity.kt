@@ -0,0 +1,11 @@
+package com.example.dao.data
+
+import androidx.room.Entity
+import androidx.room.PrimaryKey
+
+@Entity(tableName = "canonical_headers")
+data class BlockHeaderEntity(
+    @PrimaryKey val number: Long,
+    val hash: String,
+    val parentHash: String
+)
@@ -0,0 +1,30 @@
+package com.example.dao.data
+
+import androidx.room.Dao
+import androidx.room.Insert
+import androidx.room.OnConflictStrategy
+import androidx.room.Query
+
+@Dao
+interface CachedHeaderDao {
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    fun insert(header: CachedHeaderEntity)
+
+    @Query("SELECT * FROM header_cache WHERE number = :number")
+    fun byNumber(number: Long): CachedHeaderEntity?
+
+    @Query("SELECT * FROM header_cache WHERE hash = :hash")
+    fun byHash(hash: String): CachedHeaderEntity?
+
+    @Query("SELECT * FROM header_cache ORDER BY number DESC LIMIT :limit")
+    fun latest(limit: Int): List<CachedHeaderEntity>
+
+    @Query("DELETE FROM header_cache WHERE number > :number")
+    fun deleteAbove(number: Long)
+
+    @Query(
+        "DELETE FROM header_cache WHERE number NOT IN " +
+            "(SELECT number FROM header_cache ORDER BY number DESC LIMIT :count)"
+    )
+    fun keepLatest(count: Int)
+}
@@ -0,0 +1,12 @@
+package com.example.dao.data
+
+import androidx.room.Entity
+import androidx.room.Index
+import androidx.room.PrimaryKey
+
+@Entity(tableName = "header_cache", indices = [Index("hash", unique = true)])
+data class CachedHeaderEntity(
+    @PrimaryKey val number: Long,
+    val hash: String,
+    val timestamp: Long
+)
@@ -0,0 +1,15 @@
+package com.example.dao.data
+
+import androidx.room.Dao
+import androidx.room.Insert
+import androidx.room.OnConflictStrategy
+import androidx.room.Query
+
+@Dao
+interface ContractMetadataDao {
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    fun upsert(metadata: ContractMetadataEntity)
+
+    @Query("SELECT value FROM contract_metadata WHERE chainId = :chainId AND address = :address AND `key` = :key")
+    fun valueOf(chainId: String, address: String, key: String): String?
+}
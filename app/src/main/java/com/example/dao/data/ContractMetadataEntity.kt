@@ -0,0 +1,11 @@
+package com.example.dao.data
+
+import androidx.room.Entity
+
+@Entity(tableName = "contract_metadata", primaryKeys = ["chainId", "address", "key"])
+data class ContractMetadataEntity(
+    val chainId: String,
+    val address: String,
+    val key: String,
+    val value: String
+)
@@ -0,0 +1,35 @@
+package com.example.dao.data
+
+import androidx.room.Dao
+import androidx.room.Insert
+import androidx.room.OnConflictStrategy
+import androidx.room.Query
+
+@Dao
+interface EventDao {
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    fun insertAll(events: List<EventEntity>)
+
+    @Query("SELECT * FROM events WHERE address = :address ORDER BY blockNumber, logIndex")
+    fun eventsOf(address: String): List<EventEntity>
+
+    @Query(
+        "SELECT * FROM events WHERE address = :address AND topic0 = :topic0 " +
+            "AND (blockNumber < :blockNumber OR (blockNumber = :blockNumber AND logIndex < :logIndex)) " +
+            "ORDER BY blockNumber DESC, logIndex DESC LIMIT :limit"
+    )
+    fun eventsBefore(address: String, topic0: String, blockNumber: Long, logIndex: Int, limit: Int): List<EventEntity>
+
+    @Query(
+        "SELECT * FROM events WHERE address = :address AND topic0 = :topic0 " +
+            "AND (blockNumber > :blockNumber OR (blockNumber = :blockNumber AND logIndex > :logIndex)) " +
+            "ORDER BY blockNumber DESC, logIndex DESC LIMIT :limit"
+    )
+    fun eventsAfter(address: String, topic0: String, blockNumber: Long, logIndex: Int, limit: Int): List<EventEntity>
+
+    @Query("SELECT data FROM events WHERE address = :address AND topic1 = :topic1 AND topic0 IN (:topics)")
+    fun dataOf(address: String, topics: List<String>, topic1: String): List<String>
+
+    @Query("DELETE FROM events WHERE blockNumber > :blockNumber")
+    fun deleteAbove(blockNumber: Long)
+}
@@ -0,0 +1,30 @@
+package com.example.dao.data
+
+import androidx.room.Database
+import androidx.room.RoomDatabase
+
+@Database(
+    entities = [
+        EventEntity::class,
+        SyncCheckpointEntity::class,
+        BlockHeaderEntity::class,
+        CachedHeaderEntity::class,
+        ContractMetadataEntity::class,
+        ProposalSearchEntity::class
+    ],
+    version = 7,
+    exportSchema = false
+)
+abstract class EventDatabase : RoomDatabase() {
+    abstract fun eventDao(): EventDao
+
+    abstract fun syncCheckpointDao(): SyncCheckpointDao
+
+    abstract fun blockHeaderDao(): BlockHeaderDao
+
+    abstract fun cachedHeaderDao(): CachedHeaderDao
+
+    abstract fun contractMetadataDao(): ContractMetadataDao
+
+    abstract fun proposalSearchDao(): ProposalSearchDao
+}
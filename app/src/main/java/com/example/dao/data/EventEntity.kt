@@ -0,0 +1,53 @@
+package com.example.dao.data
+
+import androidx.room.Entity
+import androidx.room.Index
+import org.web3j.protocol.core.methods.response.Log
+import org.web3j.utils.Numeric
+import java.math.BigInteger
+
+@Entity(
+    tableName = "events",
+    primaryKeys = ["blockNumber", "transactionHash", "logIndex"],
+    indices = [Index("address", "topic0", "blockNumber", "logIndex"), Index("topic1")]
+)
+data class EventEntity(
+    val blockNumber: Long,
+    val transactionHash: String,
+    val logIndex: Int,
+    val blockHash: String,
+    val address: String,
+    val topic0: String,
+    val topic1: String? = null,
+    val topic2: String? = null,
+    val topic3: String? = null,
+    val data: String
+) {
+    fun toLog(): Log = Log(
+        false,
+        Numeric.encodeQuantity(BigInteger.valueOf(logIndex.toLong())),
+        null,
+        transactionHash,
+        blockHash,
+        Numeric.encodeQuantity(BigInteger.valueOf(blockNumber)),
+        address,
+        data,
+        null,
+        listOfNotNull(topic0, topic1, topic2, topic3)
+    )
+
+    companion object {
+        fun fromLog(log: Log) = EventEntity(
+            blockNumber = log.blockNumber.toLong(),
+            transactionHash = log.transactionHash,
+            logIndex = log.logIndex.toInt(),
+            blockHash = log.blockHash,
+            address = log.address.lowercase(),
+            topic0 = log.topics[0],
+            topic1 = log.topics.getOrNull(1),
+            topic2 = log.topics.getOrNull(2),
+            topic3 = log.topics.getOrNull(3),
+            data = log.data
+        )
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.dao.data
+
+import androidx.room.Dao
+import androidx.room.Insert
+import androidx.room.Query
+
+@Dao
+interface ProposalSearchDao {
+    @Insert
+    fun insertAll(entries: List<ProposalSearchEntity>)
+
+    @Query(
+        "SELECT proposalId, description FROM proposal_search WHERE proposal_search MATCH :query " +
+            "ORDER BY rowid DESC LIMIT :limit"
+    )
+    fun match(query: String, limit: Int): List<ProposalSearchMatch>
+
+    @Query("SELECT proposalId, description FROM proposal_search WHERE proposalId IN (:proposalIds)")
+    fun descriptionsOf(proposalIds: List<String>): List<ProposalSearchMatch>
+
+    @Query("DELETE FROM proposal_search WHERE blockNumber > :blockNumber")
+    fun deleteAbove(blockNumber: Long)
+}
@@ -0,0 +1,17 @@
+package com.example.dao.data
+
+import androidx.room.ColumnInfo
+import androidx.room.Entity
+import androidx.room.Fts4
+import androidx.room.FtsOptions
+import androidx.room.PrimaryKey
+
+/** Full-text index over proposal descriptions; unicode61 case-folds Cyrillic as well as Latin. */
+@Fts4(tokenizer = FtsOptions.TOKENIZER_UNICODE61, notIndexed = ["proposalId", "blockNumber"])
+@Entity(tableName = "proposal_search")
+data class ProposalSearchEntity(
+    @PrimaryKey(autoGenerate = true) @ColumnInfo(name = "rowid") val rowId: Int = 0,
+    val proposalId: String,
+    val blockNumber: Long,
+    val description: String
+)
@@ -0,0 +1,6 @@
+package com.example.dao.data
+
+data class ProposalSearchMatch(
+    val proposalId: String,
+    val description: String
+)
@@ -0,0 +1,18 @@
+package com.example.dao.data
+
+import androidx.room.Dao
+import androidx.room.Insert
+import androidx.room.OnConflictStrategy
+import androidx.room.Query
+
+@Dao
+interface SyncCheckpointDao {
+    @Query("SELECT lastSyncedBlock FROM sync_checkpoints WHERE address = :address")
+    fun lastSyncedBlock(address: String): Long?
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    fun upsert(checkpoint: SyncCheckpointEntity)
+
+    @Query("UPDATE sync_checkpoints SET lastSyncedBlock = :block WHERE lastSyncedBlock > :block")
+    fun rewindTo(block: Long)
+}
@@ -0,0 +1,10 @@
+package com.example.dao.data
+
+import androidx.room.Entity
+import androidx.room.PrimaryKey
+
+@Entity(tableName = "sync_checkpoints")
+data class SyncCheckpointEntity(
+    @PrimaryKey val address: String,
+    val lastSyncedBlock: Long
+)
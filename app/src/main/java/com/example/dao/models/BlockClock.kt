@@ -0,0 +1,4 @@
+package com.example.dao.models
+
+/** Wall-clock time in millis together with the block height estimated for it. */
+data class BlockClock(val millis: Long, val block: Long)
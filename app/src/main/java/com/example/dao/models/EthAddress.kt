@@ -0,0 +1,27 @@
+package com.example.dao.models
+
+import org.web3j.utils.Numeric
+import java.util.concurrent.ConcurrentHashMap
+
+/** A 20-byte account address, interned so that every proposal by the same account shares it. */
+class EthAddress private constructor(private val bytes: ByteArray) {
+
+    override fun equals(other: Any?) = other is EthAddress && bytes.contentEquals(other.bytes)
+
+    override fun hashCode() = bytes.contentHashCode()
+
+    override fun toString(): String = Numeric.toHexString(bytes)
+
+    companion object {
+        private const val LENGTH = 20
+        private val interned = ConcurrentHashMap<EthAddress, EthAddress>()
+
+        fun of(bytes: ByteArray): EthAddress {
+            require(bytes.size == LENGTH) { "Address must be $LENGTH bytes, got ${bytes.size}" }
+            val address = EthAddress(bytes)
+            return interned.putIfAbsent(address, address) ?: address
+        }
+
+        fun of(hex: String) = of(Numeric.hexStringToByteArray(hex))
+    }
+}
@@ -1,34 +1,47 @@
 package com.example.dao.models
 
+import androidx.compose.runtime.Immutable
+import com.example.dao.sync.ProposalCreatedView
 import java.math.BigInteger
-import java.sql.Timestamp
 import java.text.SimpleDateFormat
-import java.time.format.DateTimeFormatter
 import java.util.Locale
 
+/**
+ * A proposal as shown in the feed. Blocks are plain longs, vote times are epoch millis with
+ * [UNKNOWN_TIME] until estimated, and the tallies are compact [TokenAmount]s.
+ */
+@Immutable
 data class Proposal(
     val id: BigInteger? = null,
-    val proposer: String? = null,
+    val proposer: EthAddress? = null,
     val description: String? = null,
-    val voteStartBlock: BigInteger? = null,
-    val voteEndBlock: BigInteger? = null,
-    val voteStartBlockTimestamp: Timestamp? = null,
-    val voteEndBlockTimestamp: Timestamp? = null,
-    val votesFor: Token? = null,
-    val votesAgainst: Token? = null,
-    val votesAbstain: Token? = null
+    val voteStartBlock: Long = 0,
+    val voteEndBlock: Long = 0,
+    val voteStartMillis: Long = UNKNOWN_TIME,
+    val voteEndMillis: Long = UNKNOWN_TIME,
+    val votesFor: TokenAmount = TokenAmount.ZERO,
+    val votesAgainst: TokenAmount = TokenAmount.ZERO,
+    val votesAbstain: TokenAmount = TokenAmount.ZERO,
+    val state: ProposalState? = null,
+    val payload: ProposalCreatedView? = null,
+    val hasVoted: Boolean = false
 ) {
     override fun toString(): String {
         val formatter = SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.UK)
-        val voteStartDateTime = voteStartBlockTimestamp?.let { formatter.format(it) } ?: "N/A"
-        val voteEndDateTime = voteEndBlockTimestamp?.let { formatter.format(it) } ?: "N/A"
+        val voteStartDateTime = voteStartMillis.takeIf { it != UNKNOWN_TIME }?.let { formatter.format(it) } ?: "N/A"
+        val voteEndDateTime = voteEndMillis.takeIf { it != UNKNOWN_TIME }?.let { formatter.format(it) } ?: "N/A"
 
         return "Создатель: $proposer\n" +
-                "Описание: $description\n" +
+                "Описание: ${payload?.description ?: description}\n" +
                 "Дата начала: $voteStartDateTime\n" +
                 "Дата конца: $voteEndDateTime\n" +
-                "За: ${votesFor?.toString()}\n" +
-                "Против: ${votesAgainst?.toString()}\n" +
-                "Воздержались: ${votesAbstain?.toString()}"
+                "За: $votesFor\n" +
+                "Против: $votesAgainst\n" +
+                "Воздержались: $votesAbstain\n" +
+                "Статус: ${state?.toString()}"
     }
-}
\ No newline at end of file
+
+    companion object {
+        const val UNKNOWN_TIME = 0L
+    }
+}
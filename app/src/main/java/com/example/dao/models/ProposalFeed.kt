@@ -0,0 +1,15 @@
+package com.example.dao.models
+
+import androidx.compose.runtime.Immutable
+import java.math.BigInteger
+
+/**
+ * One published state of the proposal list, newest proposal first, with the ids added or changed
+ * since the previous one. [reset] means the list was rebuilt from scratch, e.g. after a reorg.
+ */
+@Immutable
+data class ProposalFeed(
+    val items: List<Proposal> = emptyList(),
+    val changedIds: Set<BigInteger> = emptySet(),
+    val reset: Boolean = false
+)
@@ -0,0 +1,32 @@
+package com.example.dao.models
+
+enum class ProposalState(val value: Int) {
+    PENDING(0),
+    ACTIVE(1),
+    CANCELED(2),
+    DEFEATED(3),
+    SUCCEEDED(4),
+    QUEUED(5),
+    EXPIRED(6),
+    EXECUTED(7);
+
+    val isFinal: Boolean
+        get() = this == CANCELED || this == DEFEATED || this == EXPIRED || this == EXECUTED
+
+    override fun toString(): String {
+        return when (this) {
+            PENDING -> "Ожидает начала"
+            ACTIVE -> "Идет голосование"
+            CANCELED -> "Отменено"
+            DEFEATED -> "Отклонено"
+            SUCCEEDED -> "Принято"
+            QUEUED -> "В очереди на исполнение"
+            EXPIRED -> "Истекло"
+            EXECUTED -> "Исполнено"
+        }
+    }
+
+    companion object {
+        fun of(value: Int): ProposalState = entries.first { it.value == value }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.dao.models
+
+import org.web3j.utils.Convert
+import java.math.BigDecimal
+import java.math.BigInteger
+
+/**
+ * A token amount kept as a long count of gwei (nine decimals), which covers any whole-gwei
+ * balance below 9.2 billion tokens. Other amounts fall back to the exact [BigInteger] in wei.
+ */
+class TokenAmount private constructor(private val gwei: Long, private val exactWei: BigInteger?) {
+
+    val wei: BigInteger get() = exactWei ?: BigInteger.valueOf(gwei).multiply(GWEI)
+
+    override fun equals(other: Any?) =
+        other is TokenAmount && gwei == other.gwei && exactWei == other.exactWei
+
+    override fun hashCode() = 31 * gwei.hashCode() + (exactWei?.hashCode() ?: 0)
+
+    override fun toString(): String = "${Convert.fromWei(BigDecimal(wei), Convert.Unit.ETHER)}"
+
+    companion object {
+        private val GWEI = BigInteger.TEN.pow(9)
+        val ZERO = TokenAmount(0, null)
+
+        fun ofWei(wei: BigInteger): TokenAmount {
+            if (wei.signum() == 0) return ZERO
+            val (gwei, remainder) = wei.divideAndRemainder(GWEI)
+            return if (remainder.signum() == 0 && gwei.bitLength() < Long.SIZE_BITS) {
+                TokenAmount(gwei.toLong(), null)
+            } else {
+                TokenAmount(0, wei)
+            }
+        }
+    }
+}
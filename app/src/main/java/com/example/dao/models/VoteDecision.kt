@@ -1,8 +1,8 @@
 package com.example.dao.models
 
 enum class VoteDecision(val value: Int) {
-    FOR(0),
-    AGAINST(1),
+    FOR(1),
+    AGAINST(0),
     ABSTAIN(2);
 
     override fun toString(): String {
@@ -0,0 +1,10 @@
+package com.example.dao.models
+
+import java.math.BigInteger
+
+data class VoteTally(val votes: List<BigInteger> = List(VoteDecision.entries.size) { BigInteger.ZERO }) {
+    operator fun get(decision: VoteDecision): BigInteger = votes[decision.value]
+
+    fun plus(support: Int, weight: BigInteger): VoteTally =
+        copy(votes = votes.mapIndexed { index, value -> if (index == support) value + weight else value })
+}
@@ -0,0 +1,49 @@
+package com.example.dao.sync
+
+import org.web3j.utils.Numeric
+import java.math.BigInteger
+
+/** Reads ABI-encoded words and dynamic sections in place from raw log data. */
+internal class AbiReader(private val data: ByteArray) {
+
+    fun uint(at: Int) = BigInteger(1, data.copyOfRange(at, at + WORD))
+
+    fun address(at: Int): String = Numeric.toHexString(data, at + WORD - 20, 20, true)
+
+    fun addressBytes(at: Int) = data.copyOfRange(at + WORD - 20, at + WORD)
+
+    /** Reads a word that holds an offset or a length; both always fit in an int. */
+    fun int(at: Int): Int {
+        var value = 0
+        for (i in at + WORD - 4 until at + WORD) value = (value shl 8) or (data[i].toInt() and 0xff)
+        return value
+    }
+
+    fun string(at: Int) = String(data, at + WORD, int(at), Charsets.UTF_8)
+
+    /** Decodes at most [maxBytes] of the string at [at], cut on a character boundary. */
+    fun stringPrefix(at: Int, maxBytes: Int): String {
+        val length = int(at)
+        if (length <= maxBytes) return string(at)
+        val start = at + WORD
+        var end = start + maxBytes
+        while (end > start && data[end].toInt() and 0xc0 == 0x80) end--
+        return String(data, start, end - start, Charsets.UTF_8)
+    }
+
+    fun bytes(at: Int) = data.copyOfRange(at + WORD, at + WORD + int(at))
+
+    /** Array of static elements: length word followed by the elements in place. */
+    inline fun <T> array(at: Int, element: (Int) -> T): List<T> =
+        List(int(at)) { i -> element(at + WORD + i * WORD) }
+
+    /** Array of dynamic elements: length word followed by element offsets relative to its head. */
+    inline fun <T> tailArray(at: Int, element: (Int) -> T): List<T> {
+        val head = at + WORD
+        return List(int(at)) { i -> element(head + int(head + i * WORD)) }
+    }
+
+    companion object {
+        const val WORD = 32
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.dao.sync
+
+import java.math.BigInteger
+
+data class ChainHead(
+    val number: BigInteger,
+    val hash: String,
+    val parentHash: String,
+    val timestamp: BigInteger
+)
@@ -0,0 +1,21 @@
+package com.example.dao.sync
+
+import org.web3j.abi.EventEncoder
+import org.web3j.abi.datatypes.Event
+import org.web3j.protocol.core.methods.response.Log
+
+/**
+ * Routes logs fetched through a single multi-topic filter to typed handlers by their `topic0`.
+ */
+class EventDispatcher {
+    private val handlers = HashMap<String, (Log) -> Unit>()
+
+    fun <T> on(event: Event, decode: (Log) -> T, handle: (T) -> Unit): EventDispatcher {
+        handlers[EventEncoder.encode(event)] = { log -> handle(decode(log)) }
+        return this
+    }
+
+    fun dispatch(log: Log) {
+        log.topics.firstOrNull()?.let { handlers[it]?.invoke(log) }
+    }
+}
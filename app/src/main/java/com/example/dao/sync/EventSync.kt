@@ -0,0 +1,62 @@
+package com.example.dao.sync
+
+import com.example.dao.data.EventDatabase
+import com.example.dao.data.EventEntity
+import com.example.dao.data.SyncCheckpointEntity
+import org.web3j.protocol.Web3j
+import org.web3j.protocol.core.methods.response.Log
+import java.math.BigInteger
+
+/**
+ * Fetches only the `[lastSynced + 1, head]` range of a contract's logs on every call and stores
+ * them together with the new checkpoint, so neither repeated polls nor cold starts re-download
+ * the event history. [onStored] runs inside the storing transaction, for derived tables.
+ */
+class EventSync(
+    web3: Web3j,
+    private val database: EventDatabase,
+    private val onStored: (List<EventEntity>) -> Unit = {}
+) {
+    private val backfill = LogBackfill(web3)
+    private val eventDao = database.eventDao()
+    private val checkpointDao = database.syncCheckpointDao()
+
+    fun lastSyncedBlock(address: String): BigInteger? =
+        checkpointDao.lastSyncedBlock(address.lowercase())?.let { BigInteger.valueOf(it) }
+
+    /**
+     * Persists every log of [contract] in the unsynced range up to [head], moving its checkpoint
+     * along in the same transactions as each contiguous part of the range is fetched, and hands
+     * the newly stored events of each part to [onEvents] in chain order.
+     */
+    suspend fun sync(contract: SyncedContract, head: BigInteger, onEvents: (List<EventEntity>) -> Unit) {
+        val from = lastSyncedBlock(contract.address)?.add(BigInteger.ONE) ?: BigInteger.ZERO
+        if (from > head) return
+
+        backfill.fetch(contract.address, contract.topics, from, head) { logs, syncedTo ->
+            onEvents(ingest(contract, logs, syncedTo))
+        }
+    }
+
+    /**
+     * Stores [logs] already known to be all logs of [contract] up to [head], e.g. pushed by a
+     * subscription, and moves its checkpoint to [head].
+     *
+     * @return the stored events in chain order
+     */
+    fun ingest(contract: SyncedContract, logs: List<Log>, head: BigInteger): List<EventEntity> {
+        val events = eventsOf(contract, logs)
+        database.runInTransaction {
+            eventDao.insertAll(events)
+            onStored(events)
+            checkpointDao.upsert(SyncCheckpointEntity(contract.address, head.toLong()))
+        }
+        return events
+    }
+
+    /** @return the events of [contract] among [logs], in chain order */
+    private fun eventsOf(contract: SyncedContract, logs: List<Log>) = logs
+        .filter { it.topics.firstOrNull() in contract.topics }
+        .map { EventEntity.fromLog(it) }
+        .sortedWith(compareBy({ it.blockNumber }, { it.logIndex }))
+}
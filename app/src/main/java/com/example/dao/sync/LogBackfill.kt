@@ -0,0 +1,185 @@
+package com.example.dao.sync
+
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.joinAll
+import kotlinx.coroutines.launch
+import org.web3j.protocol.Web3j
+import org.web3j.protocol.core.DefaultBlockParameter
+import org.web3j.protocol.core.methods.request.EthFilter
+import org.web3j.protocol.core.methods.response.Log
+import org.web3j.protocol.exceptions.ClientConnectionException
+import java.io.IOException
+import java.math.BigInteger
+import java.net.SocketTimeoutException
+import java.util.TreeMap
+
+/**
+ * Splits `eth_getLogs` over long block ranges into chunks fetched with bounded parallelism. Each
+ * request matches any of the given `topic0`s, so one request covers every event type of a contract.
+ *
+ * Chunks are planned one at a time with the current chunk size. A chunk rejected for returning
+ * too many results (or timing out) is halved and retried, and the size shrinks with it; chunks
+ * answered with few logs let the size grow back towards [maxRange]. Rate limited requests are
+ * retried after an exponential backoff instead of being split.
+ */
+class LogBackfill(
+    private val web3: Web3j,
+    private val parallelism: Int = 4,
+    initialRange: Long = 10_000,
+    private val maxRange: Long = 1_000_000,
+    private val smallResponse: Int = 1_000,
+    private val initialBackoffMillis: Long = 1_000,
+    private val maxRetries: Int = 5
+) {
+    @Volatile
+    private var range: Long = initialRange
+
+    /**
+     * Fetches the logs in `[from, to]` and hands them to [onPrefix] in chain order together with
+     * the last block they cover, each time the contiguous fetched range from [from] grows. [onPrefix]
+     * runs in the caller's context, so a failing chunk only loses the progress after it.
+     */
+    suspend fun fetch(
+        address: String,
+        topics: List<String>,
+        from: BigInteger,
+        to: BigInteger,
+        onPrefix: (List<Log>, BigInteger) -> Unit
+    ) = coroutineScope {
+        val end = to.toLong()
+        var nextStart = from.toLong()
+        var failed = false
+        val planLock = Any()
+        fun nextChunk(): LongRange? {
+            synchronized(planLock) {
+                if (failed || nextStart > end) return null
+                val chunk = nextStart..minOf(end, nextStart + range - 1)
+                nextStart = chunk.last + 1
+                return chunk
+            }
+        }
+
+        val fetched = Channel<Pair<LongRange, Result<List<Log>>>>(Channel.UNLIMITED)
+        val workers = List(parallelism) {
+            launch(Dispatchers.IO) {
+                while (true) {
+                    val chunk = nextChunk() ?: break
+                    val result = try {
+                        Result.success(fetchChunk(address, topics, chunk))
+                    } catch (e: CancellationException) {
+                        throw e
+                    } catch (e: Exception) {
+                        synchronized(planLock) { failed = true }
+                        Result.failure(e)
+                    }
+                    fetched.send(chunk to result)
+                }
+            }
+        }
+        launch {
+            workers.joinAll()
+            fetched.close()
+        }
+
+        val pending = TreeMap<Long, Pair<LongRange, Result<List<Log>>>>()
+        var prefixEnd = from.toLong() - 1
+        for (result in fetched) {
+            pending[result.first.first] = result
+            val prefix = ArrayList<Log>()
+            val previousEnd = prefixEnd
+            var failure: Throwable? = null
+            while (true) {
+                val (chunk, outcome) = pending.remove(prefixEnd + 1) ?: break
+                failure = outcome.exceptionOrNull()
+                if (failure != null) break
+                prefix.addAll(outcome.getOrThrow())
+                prefixEnd = chunk.last
+            }
+            if (prefixEnd > previousEnd) onPrefix(prefix, BigInteger.valueOf(prefixEnd))
+            if (failure != null) throw failure
+        }
+    }
+
+    private suspend fun fetchChunk(address: String, topics: List<String>, chunk: LongRange): List<Log> {
+        val logs = try {
+            requestWithBackoff(address, topics, chunk)
+        } catch (e: RangeTooLargeException) {
+            if (chunk.first == chunk.last) throw IOException(e.message, e)
+            null
+        }
+        if (logs == null) {
+            val size = chunk.last - chunk.first + 1
+            range = maxOf(1, minOf(range, size / 2))
+            val middle = chunk.first + size / 2 - 1
+            return fetchChunk(address, topics, chunk.first..middle) +
+                fetchChunk(address, topics, middle + 1..chunk.last)
+        }
+        if (logs.size < smallResponse) {
+            range = minOf(maxRange, range * 2)
+        }
+        return logs
+    }
+
+    private suspend fun requestWithBackoff(address: String, topics: List<String>, chunk: LongRange): List<Log> {
+        var backoff = initialBackoffMillis
+        repeat(maxRetries) {
+            try {
+                return requestLogs(address, topics, chunk)
+            } catch (e: RateLimitedException) {
+                delay(backoff)
+                backoff *= 2
+            }
+        }
+        return requestLogs(address, topics, chunk)
+    }
+
+    private fun requestLogs(address: String, topics: List<String>, chunk: LongRange): List<Log> {
+        val filter = EthFilter(
+            DefaultBlockParameter.valueOf(BigInteger.valueOf(chunk.first)),
+            DefaultBlockParameter.valueOf(BigInteger.valueOf(chunk.last)),
+            address
+        )
+        filter.addOptionalTopics(*topics.toTypedArray())
+        val response = try {
+            web3.ethGetLogs(filter).send()
+        } catch (e: SocketTimeoutException) {
+            throw RangeTooLargeException("eth_getLogs $chunk timed out")
+        } catch (e: ClientConnectionException) {
+            if (e.message.orEmpty().contains(HTTP_TOO_MANY_REQUESTS)) {
+                throw RateLimitedException("eth_getLogs $chunk rate limited: ${e.message}")
+            }
+            throw e
+        }
+        if (response.hasError()) {
+            val message = response.error.message.orEmpty()
+            when {
+                TOO_MANY_RESULTS.any { message.contains(it, true) } ->
+                    throw RangeTooLargeException("eth_getLogs $chunk rejected: $message")
+                // Infura answers both throttling and oversized queries with -32005
+                response.error.code == LIMIT_EXCEEDED || RATE_LIMITED.any { message.contains(it, true) } ->
+                    throw RateLimitedException("eth_getLogs $chunk rate limited: $message")
+            }
+            throw IOException("eth_getLogs $chunk failed: $message")
+        }
+        return response.logs.map { it.get() as Log }
+    }
+
+    private class RangeTooLargeException(message: String) : IOException(message)
+
+    private class RateLimitedException(message: String) : IOException(message)
+
+    private companion object {
+        const val LIMIT_EXCEEDED = -32005
+        const val HTTP_TOO_MANY_REQUESTS = "429"
+        val TOO_MANY_RESULTS = listOf(
+            "more than", "too many results", "too large", "block range", "response size", "range is too"
+        )
+        val RATE_LIMITED = listOf(
+            "rate limit", "rate exceeded", "too many requests", "request count", "capacity", "limit reached"
+        )
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.dao.sync
+
+import KFUDAOGovernor
+import KFUDAOGovernor.ProposalCreatedEventResponse
+import org.web3j.protocol.core.methods.response.Log
+
+/**
+ * Decodes `ProposalCreated` straight from the ABI layout of the log data, skipping the generic
+ * `Type` tree that [KFUDAOGovernor.getProposalCreatedEventFromLog] builds and then copies.
+ *
+ * Head words: proposalId, proposer, offsets of targets, values, signatures and calldatas,
+ * voteStart, voteEnd and the offset of description. Offsets are relative to the start of data.
+ * The reading itself lives in [ProposalCreatedView]; `ProposalCreatedDecoderTest` checks it
+ * against the generated decoder.
+ */
+object ProposalCreatedDecoder {
+
+    fun decode(log: Log): ProposalCreatedEventResponse = ProposalCreatedView(log).toResponse(log)
+
+    /** @return a lazily decoded view of [log] */
+    fun view(log: Log): ProposalCreatedView = ProposalCreatedView(log)
+}
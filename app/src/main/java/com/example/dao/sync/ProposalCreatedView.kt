@@ -0,0 +1,51 @@
+package com.example.dao.sync
+
+import KFUDAOGovernor.ProposalCreatedEventResponse
+import com.example.dao.models.EthAddress
+import com.example.dao.sync.AbiReader.Companion.WORD
+import org.web3j.protocol.core.methods.response.Log
+import org.web3j.utils.Numeric
+import java.math.BigInteger
+
+/**
+ * A `ProposalCreated` log that decodes its fixed head words up front and each dynamic section
+ * (actions, description) only when first read. Only the raw data bytes are retained.
+ */
+class ProposalCreatedView(data: ByteArray) {
+    private val reader = AbiReader(data)
+
+    constructor(log: Log) : this(Numeric.hexStringToByteArray(log.data))
+
+    val proposalId: BigInteger = reader.uint(0)
+    val proposerAddress: EthAddress = EthAddress.of(reader.addressBytes(WORD))
+    val voteStart: BigInteger = reader.uint(6 * WORD)
+    val voteEnd: BigInteger = reader.uint(7 * WORD)
+
+    val proposer: String get() = proposerAddress.toString()
+
+    val targets: List<String> by lazy { reader.array(reader.int(2 * WORD)) { reader.address(it) } }
+    val values: List<BigInteger> by lazy { reader.array(reader.int(3 * WORD)) { reader.uint(it) } }
+    val signatures: List<String> by lazy { reader.tailArray(reader.int(4 * WORD)) { reader.string(it) } }
+    val calldatas: List<ByteArray> by lazy { reader.tailArray(reader.int(5 * WORD)) { reader.bytes(it) } }
+    val description: String by lazy { reader.string(reader.int(8 * WORD)) }
+
+    /** Start of the description, enough for a one-line list item. */
+    val descriptionPreview: String by lazy { reader.stringPrefix(reader.int(8 * WORD), PREVIEW_BYTES) }
+
+    fun toResponse(log: Log) = ProposalCreatedEventResponse().also {
+        it.log = log
+        it.proposalId = proposalId
+        it.proposer = proposer
+        it.targets = targets
+        it.values = values
+        it.signatures = signatures
+        it.calldatas = calldatas
+        it.voteStart = voteStart
+        it.voteEnd = voteEnd
+        it.description = description
+    }
+
+    private companion object {
+        const val PREVIEW_BYTES = 256
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.dao.sync
+
+import com.example.dao.models.Proposal
+import java.math.BigInteger
+
+/**
+ * Proposals keyed by id in creation order, updated in place. [takeChanges] reports which ids
+ * changed since it was last called, so that consumers only refresh those.
+ */
+class ProposalIndex {
+    private val proposals = LinkedHashMap<BigInteger, Proposal>()
+    private val changedIds = HashSet<BigInteger>()
+    private var reset = false
+
+    class Changes(val ids: Set<BigInteger>, val reset: Boolean)
+
+    operator fun get(proposalId: BigInteger): Proposal? = proposals[proposalId]
+
+    val values: Collection<Proposal> get() = proposals.values
+
+    fun upsert(proposal: Proposal) {
+        if (proposals.put(proposal.id!!, proposal) != proposal) changedIds.add(proposal.id)
+    }
+
+    /** @return the changes since the previous call, or null when there were none */
+    fun takeChanges(): Changes? {
+        if (changedIds.isEmpty() && !reset) return null
+        return Changes(changedIds.toSet(), reset).also {
+            changedIds.clear()
+            reset = false
+        }
+    }
+
+    /** Makes the next [takeChanges] report a reset, e.g. when the previous changes were lost. */
+    fun invalidate() {
+        reset = true
+    }
+
+    fun clear() {
+        if (proposals.isNotEmpty()) reset = true
+        proposals.clear()
+        changedIds.clear()
+    }
+}
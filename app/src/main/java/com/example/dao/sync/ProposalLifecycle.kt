@@ -0,0 +1,60 @@
+package com.example.dao.sync
+
+import com.example.dao.models.Proposal
+import com.example.dao.models.ProposalState
+import com.example.dao.models.VoteDecision
+import com.example.dao.models.VoteTally
+import java.math.BigInteger
+
+/**
+ * Derives a proposal's state the way `Governor.state` does, from its voting window, the current
+ * head, event-sourced tallies, its quorum and the `ProposalQueued/Executed/Canceled` events seen.
+ */
+class ProposalLifecycle {
+    private val queued = HashSet<BigInteger>()
+    private val executed = HashSet<BigInteger>()
+    private val canceled = HashSet<BigInteger>()
+    private val quorums = HashMap<BigInteger, BigInteger>()
+
+    fun markQueued(proposalId: BigInteger) = queued.add(proposalId)
+
+    fun markExecuted(proposalId: BigInteger) = executed.add(proposalId)
+
+    fun markCanceled(proposalId: BigInteger) = canceled.add(proposalId)
+
+    /** Whether [stateOf] needs the quorum of the proposal, which is fixed once voting started. */
+    fun needsQuorum(proposal: Proposal, head: BigInteger): Boolean =
+        proposal.id !in quorums && proposal.voteEndBlock < head.toLong()
+
+    fun setQuorum(proposalId: BigInteger, quorum: BigInteger) {
+        quorums[proposalId] = quorum
+    }
+
+    fun stateOf(proposal: Proposal, tally: VoteTally, head: BigInteger): ProposalState? {
+        val id = proposal.id ?: return null
+        val headNumber = head.toLong()
+        return when {
+            id in executed -> ProposalState.EXECUTED
+            id in canceled -> ProposalState.CANCELED
+            proposal.voteStartBlock >= headNumber -> ProposalState.PENDING
+            proposal.voteEndBlock >= headNumber -> ProposalState.ACTIVE
+            else -> {
+                val quorum = quorums[id] ?: return null
+                val forVotes = tally[VoteDecision.FOR]
+                val quorumReached = forVotes + tally[VoteDecision.ABSTAIN] >= quorum
+                when {
+                    !quorumReached || forVotes <= tally[VoteDecision.AGAINST] -> ProposalState.DEFEATED
+                    id in queued -> ProposalState.QUEUED
+                    else -> ProposalState.SUCCEEDED
+                }
+            }
+        }
+    }
+
+    fun clear() {
+        queued.clear()
+        executed.clear()
+        canceled.clear()
+        quorums.clear()
+    }
+}
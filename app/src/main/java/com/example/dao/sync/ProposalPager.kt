@@ -0,0 +1,139 @@
+package com.example.dao.sync
+
+import KFUDAOGovernor
+import com.example.dao.data.EventDao
+import com.example.dao.data.EventEntity
+import com.example.dao.models.Proposal
+import com.example.dao.models.ProposalFeed
+import org.web3j.abi.EventEncoder
+import org.web3j.utils.Numeric
+import java.math.BigInteger
+
+/**
+ * Pages stored `ProposalCreated` events newest first, keyed by their (block, log index) cursor,
+ * and enriches only the pages loaded so far. The next page is loaded once the list is scrolled
+ * within [prefetchDistance] items of the end of what is loaded. The cursors never move past an
+ * event that [enrich] could not complete yet, so it is paged in again once the index knows it.
+ * Proposals seen before their events are stored, e.g. in a transaction receipt, are shown above
+ * the pages until the sync stores them and they are paged in.
+ *
+ * @param enrich completes a page of decoded events for display, or yields null for proposals
+ * the index does not know yet
+ * @param update refreshes an enriched proposal after the index changed it
+ */
+class ProposalPager(
+    private val eventDao: EventDao,
+    private val governorAddress: String,
+    private val enrich: (List<ProposalCreatedView>) -> List<Proposal?>,
+    private val update: (Proposal) -> Proposal,
+    private val pageSize: Int = 30,
+    private val prefetchDistance: Int = 30
+) {
+    private val topic0 = EventEncoder.encode(KFUDAOGovernor.PROPOSALCREATED_EVENT)
+    private val loaded = ArrayList<Proposal>()
+    private val unstored = LinkedHashMap<BigInteger, Proposal>()
+    private var newest: EventEntity? = null
+    private var oldest: EventEntity? = null
+    private var exhausted = false
+
+    /** @return the grown feed when [position] is close enough to the end to load another page */
+    fun loadAround(position: Int): ProposalFeed? {
+        if (exhausted || position < unstored.size + loaded.size - prefetchDistance) return null
+        val page = eventDao.eventsBefore(
+            governorAddress.lowercase(), topic0,
+            oldest?.blockNumber ?: Long.MAX_VALUE, oldest?.logIndex ?: Int.MAX_VALUE, pageSize
+        )
+        val enriched = enrichedRun(page)
+        if (page.size < pageSize && enriched.size == page.size) exhausted = true
+        if (enriched.isEmpty()) return null
+        if (newest == null) newest = enriched.first().first
+        oldest = enriched.last().first
+        val added = enriched.map { it.second }
+        loaded.addAll(added)
+        added.forEach { unstored.remove(it.id!!) }
+        return feed(added.mapTo(HashSet()) { it.id!! }, reset = false)
+    }
+
+    /**
+     * Applies index changes to the loaded pages and prepends proposals created since, or reloads
+     * the newest page when more than a page of them was created.
+     */
+    fun apply(changes: ProposalIndex.Changes): ProposalFeed {
+        if (changes.reset) unstored.clear()
+        if (changes.reset || newest == null) return reload()
+        val top = newest!!
+        val page = eventDao.eventsAfter(
+            governorAddress.lowercase(), topic0, top.blockNumber, top.logIndex, pageSize + 1
+        )
+        // More than a page arrived, e.g. during a catch-up backfill: start over from the newest page
+        if (page.size > pageSize) return reload()
+        val enriched = enrichedRun(page.asReversed()).asReversed()
+        val changed = HashSet<BigInteger>()
+        if (enriched.isNotEmpty()) {
+            newest = enriched.first().first
+            val added = enriched.map { it.second }
+            loaded.addAll(0, added)
+            added.mapTo(changed) { it.id!! }
+            added.forEach { unstored.remove(it.id!!) }
+        }
+        for (entry in unstored.entries) {
+            if (entry.key in changes.ids) {
+                entry.setValue(update(entry.value))
+                changed.add(entry.key)
+            }
+        }
+        for (i in loaded.indices) {
+            val id = loaded[i].id!!
+            if (id in changes.ids && id !in changed) {
+                loaded[i] = update(loaded[i])
+                changed.add(id)
+            }
+        }
+        return feed(changed, reset = false)
+    }
+
+    /**
+     * Shows the proposals created by [events] whose events are not stored yet, until they are
+     * paged in. Events [enrich] cannot complete, or already loaded, are ignored.
+     */
+    fun addUnstored(events: List<ProposalCreatedView>): ProposalFeed {
+        val changed = HashSet<BigInteger>()
+        for (proposal in enrich(events).filterNotNull()) {
+            val id = proposal.id!!
+            if (loaded.none { it.id == id }) {
+                unstored[id] = proposal
+                changed.add(id)
+            }
+        }
+        return feed(changed, reset = false)
+    }
+
+    /** Re-enriches every loaded proposal at once, e.g. after the connected account changed. */
+    fun updateAll(transform: (List<Proposal>) -> List<Proposal>): ProposalFeed {
+        val updated = transform(loaded.toList())
+        loaded.clear()
+        loaded.addAll(updated)
+        val updatedUnstored = transform(unstored.values.toList())
+        unstored.clear()
+        updatedUnstored.associateByTo(unstored) { it.id!! }
+        return feed((updated + updatedUnstored).mapTo(HashSet()) { it.id!! }, reset = false)
+    }
+
+    private fun reload(): ProposalFeed {
+        loaded.clear()
+        newest = null
+        oldest = null
+        exhausted = false
+        loadAround(0)
+        return feed(loaded.mapTo(HashSet()) { it.id!! }, reset = true)
+    }
+
+    /** @return the events of [page] up to the first one [enrich] cannot complete, with their proposals */
+    private fun enrichedRun(page: List<EventEntity>): List<Pair<EventEntity, Proposal>> {
+        val proposals = enrich(page.map { ProposalCreatedView(Numeric.hexStringToByteArray(it.data)) })
+        return page.zip(proposals).takeWhile { it.second != null }.map { it.first to it.second!! }
+    }
+
+    private fun feed(changedIds: Set<BigInteger>, reset: Boolean) =
+        ProposalFeed(unstored.values.reversed() + loaded, changedIds, reset)
+}
@@ -0,0 +1,65 @@
+package com.example.dao.sync
+
+import KFUDAOGovernor
+import com.example.dao.data.EventDatabase
+import com.example.dao.data.EventEntity
+import com.example.dao.data.ProposalSearchEntity
+import org.web3j.abi.EventEncoder
+import org.web3j.utils.Numeric
+import java.math.BigInteger
+
+/**
+ * Keeps the `proposal_search` FTS table in step with stored `ProposalCreated` events and turns
+ * user input into MATCH expressions: bare words match as prefixes, quoted text as a phrase. The
+ * table also serves full descriptions, which the proposal index does not hold.
+ */
+class ProposalSearchIndex(database: EventDatabase) {
+    private val searchDao = database.proposalSearchDao()
+    private val topic0 = EventEncoder.encode(KFUDAOGovernor.PROPOSALCREATED_EVENT)
+
+    /** Indexes the `ProposalCreated` events among [events]; called in their storing transaction. */
+    fun index(events: List<EventEntity>) {
+        val entries = events.filter { it.topic0 == topic0 }.map {
+            val proposal = ProposalCreatedView(Numeric.hexStringToByteArray(it.data))
+            ProposalSearchEntity(
+                proposalId = proposal.proposalId.toString(),
+                blockNumber = it.blockNumber,
+                description = proposal.description
+            )
+        }
+        if (entries.isNotEmpty()) searchDao.insertAll(entries)
+    }
+
+    /** @return ids and descriptions of proposals matching [query], newest first */
+    fun search(query: String, limit: Int = 50): List<Pair<BigInteger, String>> {
+        val match = matchExpression(query) ?: return emptyList()
+        return searchDao.match(match, limit).map { BigInteger(it.proposalId) to it.description }
+    }
+
+    /** @return the descriptions of the given proposals that are indexed */
+    fun descriptionsOf(proposalIds: Collection<BigInteger>): Map<BigInteger, String> =
+        proposalIds.map { it.toString() }.chunked(MAX_VARIABLES)
+            .flatMap { searchDao.descriptionsOf(it) }
+            .associate { BigInteger(it.proposalId) to it.description }
+
+    companion object {
+        private const val MAX_VARIABLES = 500
+        private val NON_WORD = Regex("[^\\p{L}\\p{N}]+")
+
+        /** @return the FTS MATCH expression for [query], or null when it has no words */
+        internal fun matchExpression(query: String): String? {
+            val terms = ArrayList<String>()
+            val parts = query.split('"')
+            for ((i, part) in parts.withIndex()) {
+                val words = part.split(NON_WORD).filter { it.isNotEmpty() }
+                if (words.isEmpty()) continue
+                if (i % 2 == 1) {
+                    terms.add(words.joinToString(" ", "\"", "\""))
+                } else {
+                    words.mapTo(terms) { "$it*" }
+                }
+            }
+            return terms.takeIf { it.isNotEmpty() }?.joinToString(" ")
+        }
+    }
+}
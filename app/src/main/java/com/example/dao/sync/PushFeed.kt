@@ -0,0 +1,69 @@
+package com.example.dao.sync
+
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.channels.awaitClose
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.buffer
+import kotlinx.coroutines.flow.callbackFlow
+import org.web3j.protocol.Web3j
+import org.web3j.protocol.core.methods.response.Log
+import org.web3j.protocol.websocket.WebSocketService
+import org.web3j.utils.Numeric
+
+/**
+ * `eth_subscribe` based source of new heads and contract logs over a WebSocket JSON-RPC endpoint.
+ * Both flows fail when the connection drops, so callers can fall back to HTTP polling, and buffer
+ * without bound, so that no notification is dropped while the collector is busy syncing.
+ */
+class PushFeed(url: String) : AutoCloseable {
+    private val service = WebSocketService(url, false)
+    private val web3 = Web3j.build(service)
+
+    fun connect() = service.connect()
+
+    fun heads(): Flow<ChainHead> = callbackFlow {
+        val subscription = web3.newHeadsNotifications().subscribe(
+            { notification ->
+                val head = notification.params.result
+                trySend(
+                    ChainHead(
+                        Numeric.decodeQuantity(head.number),
+                        head.hash,
+                        head.parentHash,
+                        Numeric.decodeQuantity(head.timestamp)
+                    )
+                )
+            },
+            { error -> close(error) },
+            { close() }
+        )
+        awaitClose { subscription.dispose() }
+    }.buffer(Channel.UNLIMITED)
+
+    fun logs(addresses: List<String>): Flow<Log> = callbackFlow {
+        val subscription = web3.logsNotifications(addresses, emptyList()).subscribe(
+            { notification ->
+                val log = notification.params.result
+                trySend(
+                    Log(
+                        false,
+                        log.logIndex,
+                        log.transactionIndex,
+                        log.transactionHash,
+                        log.blockHash,
+                        log.blockNumber,
+                        log.address,
+                        log.data,
+                        null,
+                        log.topics
+                    )
+                )
+            },
+            { error -> close(error) },
+            { close() }
+        )
+        awaitClose { subscription.dispose() }
+    }.buffer(Channel.UNLIMITED)
+
+    override fun close() = web3.shutdown()
+}
@@ -0,0 +1,45 @@
+package com.example.dao.sync
+
+import org.web3j.protocol.core.methods.response.Log
+import java.math.BigInteger
+
+/**
+ * Buffers logs pushed by a [PushFeed] until the head they belong to is synced. The buffer only
+ * stands in for `eth_getLogs` from the block after the head it was last reset at, since logs of
+ * earlier blocks may have been emitted before the subscription was active. Nodes notify heads and
+ * logs separately, so callers take logs only up to the block before the newest head.
+ */
+class PushedLogs(addresses: List<String>) {
+    private val addresses = addresses.mapTo(HashSet()) { it.lowercase() }
+    private val logs = mutableListOf<Log>()
+    private var coveredFrom: BigInteger? = null
+
+    val isCovering: Boolean
+        @Synchronized get() = coveredFrom != null
+
+    @Synchronized
+    fun add(log: Log) {
+        logs.add(log)
+    }
+
+    @Synchronized
+    fun resetCoverage(head: BigInteger) {
+        coveredFrom = head + BigInteger.ONE
+        logs.removeAll { it.blockNumber <= head }
+    }
+
+    /**
+     * Removes and returns the logs of [address] in `(lastSynced, head]`, or null when some of
+     * them may not have been pushed, or [address] is not subscribed to, and the range has to be
+     * fetched instead.
+     */
+    @Synchronized
+    fun take(address: String, lastSynced: BigInteger?, head: BigInteger): List<Log>? {
+        if (address.lowercase() !in addresses) return null
+        val from = coveredFrom ?: return null
+        if (lastSynced == null || lastSynced + BigInteger.ONE < from) return null
+        val taken = logs.filter { it.address.equals(address, true) && it.blockNumber <= head }
+        logs.removeAll(taken)
+        return taken.filter { it.blockNumber > lastSynced }
+    }
+}
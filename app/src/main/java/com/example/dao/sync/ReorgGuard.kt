@@ -0,0 +1,69 @@
+package com.example.dao.sync
+
+import com.example.dao.data.BlockHeaderEntity
+import com.example.dao.data.EventDatabase
+import org.web3j.protocol.Web3j
+import org.web3j.protocol.core.DefaultBlockParameter
+import java.io.IOException
+import java.math.BigInteger
+
+/**
+ * Keeps the hashes of the last [window] canonical heads seen by the sync and rolls the event
+ * store back to the common ancestor when the chain no longer contains them.
+ */
+class ReorgGuard(
+    private val web3: Web3j,
+    private val database: EventDatabase,
+    private val window: Long = 64
+) {
+    private val headerDao = database.blockHeaderDao()
+    private val eventDao = database.eventDao()
+    private val checkpointDao = database.syncCheckpointDao()
+    private val searchDao = database.proposalSearchDao()
+
+    /**
+     * Reconciles the stored headers with the new [head] and records it as canonical. A head below
+     * the last stored one is skipped: load-balanced providers routinely serve a `latest` that lags
+     * a block behind, and a reorg shows up as a changed hash on the next head past it.
+     *
+     * @return the block the store was rolled back to, or null when no reorg happened
+     */
+    fun reconcile(head: ChainHead): Long? {
+        val headNumber = head.number.toLong()
+        val last = headerDao.latest()
+        if (last != null && headNumber < last.number) return null
+        val rollbackTo = when {
+            last == null -> null
+            last.number == headNumber - 1 && last.hash == head.parentHash -> null
+            last.number == headNumber && last.hash == head.hash -> null
+            else -> findCommonAncestor(last.number).takeIf { it < last.number }
+        }
+        database.runInTransaction {
+            rollbackTo?.let { rollBack(it) }
+            headerDao.insert(BlockHeaderEntity(headNumber, head.hash, head.parentHash))
+            headerDao.deleteBelow(headNumber - window)
+        }
+        return rollbackTo
+    }
+
+    private fun findCommonAncestor(from: Long): Long {
+        val stored = headerDao.atOrBelow(from)
+        for (header in stored) {
+            val canonical = web3.ethGetBlockByNumber(
+                DefaultBlockParameter.valueOf(BigInteger.valueOf(header.number)),
+                false
+            ).send().block
+                // A lagging node may not serve the block yet, which says nothing about its hash
+                ?: throw IOException("Block ${header.number} is not available to check for a reorg")
+            if (canonical.hash == header.hash) return header.number
+        }
+        return (stored.lastOrNull()?.number ?: from) - 1
+    }
+
+    private fun rollBack(ancestor: Long) {
+        eventDao.deleteAbove(ancestor)
+        searchDao.deleteAbove(ancestor)
+        headerDao.deleteAbove(ancestor)
+        checkpointDao.rewindTo(ancestor)
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.dao.sync
+
+import org.web3j.abi.EventEncoder
+import org.web3j.abi.datatypes.Event
+
+class SyncedContract(address: String, events: List<Event>) {
+    val address: String = address.lowercase()
+    val topics: List<String> = events.map { EventEncoder.encode(it) }
+}
@@ -0,0 +1,23 @@
+package com.example.dao.sync
+
+import com.example.dao.models.VoteTally
+import java.math.BigInteger
+
+/**
+ * Vote totals per proposal maintained from `VoteCast` and `VoteCastWithParams` logs, indexed by
+ * the same support values `proposalVotes` orders its result by.
+ */
+class VoteTallies {
+    private val tallies = HashMap<BigInteger, VoteTally>()
+
+    operator fun get(proposalId: BigInteger): VoteTally = tallies[proposalId] ?: VoteTally()
+
+    operator fun set(proposalId: BigInteger, tally: VoteTally) {
+        tallies[proposalId] = tally
+    }
+
+    fun add(proposalId: BigInteger, support: BigInteger, weight: BigInteger): VoteTally =
+        get(proposalId).plus(support.toInt(), weight).also { tallies[proposalId] = it }
+
+    fun clear() = tallies.clear()
+}
@@ -0,0 +1,42 @@
+package com.example.dao.sync
+
+import KFUDAOGovernor
+import com.example.dao.data.EventDatabase
+import org.web3j.abi.EventEncoder
+import org.web3j.utils.Numeric
+import java.math.BigInteger
+
+/**
+ * Proposals one account has voted on, read from its stored `VoteCast` and `VoteCastWithParams`
+ * logs by the indexed voter topic and extended as new votes of that account are dispatched.
+ */
+class VoterHistory(database: EventDatabase, governorAddress: String) {
+    private val eventDao = database.eventDao()
+    private val governorAddress = governorAddress.lowercase()
+    private val topics = listOf(
+        EventEncoder.encode(KFUDAOGovernor.VOTECAST_EVENT),
+        EventEncoder.encode(KFUDAOGovernor.VOTECASTWITHPARAMS_EVENT)
+    )
+    private val voted = HashSet<BigInteger>()
+
+    var voter: String? = null
+        private set
+
+    /** Replaces the history with that of [voter], or empties it when there is no account. */
+    fun load(voter: String?) {
+        this.voter = voter?.lowercase()
+        voted.clear()
+        if (voter == null) return
+        val voterTopic = Numeric.toHexStringWithPrefixZeroPadded(Numeric.toBigInt(voter), 64)
+        eventDao.dataOf(governorAddress, topics, voterTopic).mapTo(voted) { proposalIdOf(it) }
+    }
+
+    fun onVote(voter: String, proposalId: BigInteger) {
+        if (voter.equals(this.voter, ignoreCase = true)) voted.add(proposalId)
+    }
+
+    operator fun contains(proposalId: BigInteger) = proposalId in voted
+
+    /** Both vote events start their data with the proposal id. */
+    private fun proposalIdOf(data: String) = BigInteger(Numeric.cleanHexPrefix(data).substring(0, 64), 16)
+}
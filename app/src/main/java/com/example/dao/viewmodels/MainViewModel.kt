@@ -1,19 +1,50 @@
 package com.example.dao.viewmodels
 
 import KFUDAOGovernor
-import KFUDAOGovernor.PROPOSALCREATED_EVENT
 import KFUDAOToken
+import TimeLock
 import android.util.Log
+import androidx.compose.runtime.Stable
 import androidx.compose.runtime.getValue
 import androidx.compose.runtime.mutableStateOf
 import androidx.compose.runtime.setValue
 import androidx.lifecycle.ViewModel
 import androidx.lifecycle.viewModelScope
 import com.example.dao.BuildConfig
+import com.example.dao.chain.BatchingWeb3jService
+import com.example.dao.chain.BlockHeaderCache
+import com.example.dao.chain.CachingWeb3jService
+import com.example.dao.chain.ChainTime
+import com.example.dao.chain.CoalescingWeb3jService
+import com.example.dao.chain.ContractMetadata
+import com.example.dao.chain.Multicall
+import com.example.dao.chain.TransactionTracker
+import com.example.dao.chain.ethCallAsync
+import com.example.dao.data.EventDatabase
+import com.example.dao.data.EventEntity
 import com.example.dao.models.Account
+import com.example.dao.models.BlockClock
 import com.example.dao.models.Proposal
-import com.example.dao.models.Token
+import com.example.dao.models.ProposalFeed
+import com.example.dao.models.ProposalState
+import com.example.dao.models.TokenAmount
 import com.example.dao.models.VoteDecision
+import com.example.dao.models.VoteTally
+import com.example.dao.sync.ChainHead
+import com.example.dao.sync.EventDispatcher
+import com.example.dao.sync.EventSync
+import com.example.dao.sync.ProposalCreatedDecoder
+import com.example.dao.sync.ProposalCreatedView
+import com.example.dao.sync.ProposalIndex
+import com.example.dao.sync.ProposalLifecycle
+import com.example.dao.sync.ProposalPager
+import com.example.dao.sync.ProposalSearchIndex
+import com.example.dao.sync.PushFeed
+import com.example.dao.sync.PushedLogs
+import com.example.dao.sync.ReorgGuard
+import com.example.dao.sync.SyncedContract
+import com.example.dao.sync.VoteTallies
+import com.example.dao.sync.VoterHistory
 import com.google.firebase.auth.FirebaseAuth
 import com.google.firebase.firestore.FirebaseFirestore
 import dagger.hilt.android.lifecycle.HiltViewModel
@@ -22,47 +53,142 @@ import io.metamask.androidsdk.EthereumMethod
 import io.metamask.androidsdk.EthereumRequest
 import io.metamask.androidsdk.Result
 import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.coroutineScope
 import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.SharingStarted
 import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.flowOn
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.stateIn
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.tasks.await
 import kotlinx.coroutines.withContext
 import org.web3j.abi.EventEncoder
+import org.web3j.abi.datatypes.Type
 import org.web3j.protocol.Web3j
 import org.web3j.protocol.core.DefaultBlockParameter
-import org.web3j.protocol.core.methods.request.EthFilter
+import org.web3j.protocol.core.RemoteFunctionCall
 import org.web3j.protocol.core.methods.response.EthBlockNumber
-import org.web3j.protocol.http.HttpService
+import org.web3j.protocol.core.methods.response.TransactionReceipt
 import org.web3j.tx.ClientTransactionManager
 import org.web3j.tx.gas.DefaultGasProvider
+import org.web3j.utils.Numeric
 import java.math.BigInteger
-import java.sql.Timestamp
 import javax.inject.Inject
 
+@Stable
 @HiltViewModel
-class MainViewModel @Inject constructor(private val ethereum: EthereumFlow) : ViewModel() {
+class MainViewModel @Inject constructor(
+    private val ethereum: EthereumFlow,
+    private val web3: Web3j,
+    private val batchingService: BatchingWeb3jService,
+    private val coalescingService: CoalescingWeb3jService,
+    private val callCache: CachingWeb3jService,
+    private val headerCache: BlockHeaderCache,
+    private val chainTime: ChainTime,
+    private val metadata: ContractMetadata,
+    database: EventDatabase
+) : ViewModel() {
     private val TAG: String = "MainViewModel"
     private val _delay: Long = 1000
+    private val checkInterval = 20
+    private val pollsBeforeReconnect = 20
 
-    private val web3 = Web3j.build(HttpService(BuildConfig.RPC_URL))
     private var txManager = ClientTransactionManager(web3, "")
     private val gasProvider = DefaultGasProvider()
+    @OptIn(ExperimentalCoroutinesApi::class)
+    private val syncDispatcher = Dispatchers.IO.limitedParallelism(1)
     private val _currentBlock = MutableStateFlow<EthBlockNumber?>(null)
     val currentBlock: StateFlow<EthBlockNumber?> = _currentBlock
 
+    /** Ticks once a second while the UI observes it; shared by every proposal card. */
+    val clock: StateFlow<BlockClock> = flow {
+        while (true) {
+            val now = System.currentTimeMillis()
+            emit(BlockClock(now, estimatedBlockAt(now)))
+            delay(_delay - now % _delay)
+        }
+    }.flowOn(Dispatchers.IO)
+        .stateIn(viewModelScope, SharingStarted.WhileSubscribed(5_000), BlockClock(System.currentTimeMillis(), 0))
+
     var connected: Boolean by mutableStateOf(false)
     var address: String? by mutableStateOf(null)
 
     private val governorAddress = BuildConfig.GOVERNOR_CONTRACT_ADDRESS
     private val governorContract =
         KFUDAOGovernor.load(governorAddress, web3, txManager, gasProvider)
-    private val _proposals = MutableStateFlow<List<Proposal>>(emptyList())
-    val proposals: StateFlow<List<Proposal>> = _proposals
+    private val _proposals = MutableStateFlow(ProposalFeed())
+    val proposals: StateFlow<ProposalFeed> = _proposals
+    private val proposalIndex = ProposalIndex()
+
+    private val multicall = BuildConfig.MULTICALL_CONTRACT_ADDRESS.takeIf { it.isNotBlank() }
+        ?.let { Multicall(web3, it) }
 
     private val tokenAddress = BuildConfig.TOKEN_CONTRACT_ADDRESS
-    private val tokenContract = KFUDAOToken.load(tokenAddress, web3, txManager, gasProvider)
-    private val symbol = tokenContract.symbol().sendAsync().get()
+
+    private val eventDao = database.eventDao()
+    private val searchIndex = ProposalSearchIndex(database)
+    private val eventSync = EventSync(web3, database) { searchIndex.index(it) }
+    private val reorgGuard = ReorgGuard(web3, database)
+    private val governorEvents = SyncedContract(
+        governorAddress,
+        listOf(
+            KFUDAOGovernor.PROPOSALCREATED_EVENT,
+            KFUDAOGovernor.VOTECAST_EVENT,
+            KFUDAOGovernor.VOTECASTWITHPARAMS_EVENT,
+            KFUDAOGovernor.PROPOSALQUEUED_EVENT,
+            KFUDAOGovernor.PROPOSALEXECUTED_EVENT,
+            KFUDAOGovernor.PROPOSALCANCELED_EVENT
+        )
+    )
+    private val tokenEvents =
+        SyncedContract(tokenAddress, listOf(KFUDAOToken.DELEGATEVOTESCHANGED_EVENT))
+    private var timelockEvents: SyncedContract? = null
+    private val proposalCreatedTopic = EventEncoder.encode(KFUDAOGovernor.PROPOSALCREATED_EVENT)
+    private val governorDispatcher = EventDispatcher()
+        .on(
+            KFUDAOGovernor.PROPOSALCREATED_EVENT,
+            ProposalCreatedDecoder::view
+        ) { upsertProposal(buildProposal(it)) }
+        .on(
+            KFUDAOGovernor.VOTECAST_EVENT,
+            KFUDAOGovernor::getVoteCastEventFromLog
+        ) { applyVote(it.voter, it.proposalId, it.support, it.weight) }
+        .on(
+            KFUDAOGovernor.VOTECASTWITHPARAMS_EVENT,
+            KFUDAOGovernor::getVoteCastWithParamsEventFromLog
+        ) { applyVote(it.voter, it.proposalId, it.support, it.weight) }
+        .on(
+            KFUDAOGovernor.PROPOSALQUEUED_EVENT,
+            KFUDAOGovernor::getProposalQueuedEventFromLog
+        ) { lifecycle.markQueued(it.proposalId) }
+        .on(
+            KFUDAOGovernor.PROPOSALEXECUTED_EVENT,
+            KFUDAOGovernor::getProposalExecutedEventFromLog
+        ) { lifecycle.markExecuted(it.proposalId) }
+        .on(
+            KFUDAOGovernor.PROPOSALCANCELED_EVENT,
+            KFUDAOGovernor::getProposalCanceledEventFromLog
+        ) { lifecycle.markCanceled(it.proposalId) }
+    private val proposalPager = ProposalPager(
+        eventDao, governorAddress, enrich = ::enrichPage, update = ::refreshLoaded
+    )
+    private val tallies = VoteTallies()
+    private val voterHistory = VoterHistory(database, governorAddress)
+    private val lifecycle = ProposalLifecycle()
+    private val transactions = TransactionTracker(web3)
+    private var trackingJob: Job? = null
+    /** Receipt events already dispatched, to skip when the sync reaches their block. */
+    private val receiptEvents = HashSet<String>()
+    private var syncsSinceCheck = 0
+    private var hydrated = false
+    private var timesUnknown = false
+
     private val _account: MutableStateFlow<Account?> = MutableStateFlow(null)
     val account: StateFlow<Account?> = _account
 
@@ -76,8 +202,8 @@ class MainViewModel @Inject constructor(private val ethereum: EthereumFlow) : Vi
     val faculties: StateFlow<List<String>> = _faculties
 
     init {
-        startFetchingPeriodically()
-        startUpdatingCurrentBlock()
+        startSyncing()
+        refreshMetadata()
         fetchInstitutes()
     }
 
@@ -91,6 +217,7 @@ class MainViewModel @Inject constructor(private val ethereum: EthereumFlow) : Vi
         if (result is Result.Success) {
             connected = true
             address = ethereum.selectedAddress
+            refreshVotedFlags()
         }
         return result
     }
@@ -100,85 +227,311 @@ class MainViewModel @Inject constructor(private val ethereum: EthereumFlow) : Vi
         ethereum.disconnect(clearSession)
     }
 
-    private fun fetchAllProposals() {
-        val filter = EthFilter(
-            DefaultBlockParameter.valueOf(BigInteger.ZERO),
-            DefaultBlockParameter.valueOf("latest"),
-            listOf(governorContract.contractAddress)
-        )
-        filter.addSingleTopic(EventEncoder.encode(PROPOSALCREATED_EVENT))
-        val proposalFlowable = governorContract.proposalCreatedEventFlowable(filter)
-        viewModelScope.launch(Dispatchers.IO) {
-            proposalFlowable.subscribe(
-                { event ->
-                    val voteStartBlock = web3.ethGetBlockByNumber(
-                        DefaultBlockParameter.valueOf(event.voteStart),
-                        false
-                    ).sendAsync().get()
-                    val voteEndBlock = web3.ethGetBlockByNumber(
-                        DefaultBlockParameter.valueOf(event.voteEnd),
-                        false
-                    ).sendAsync().get()
-                    val voteStartBlockTimestamp = voteStartBlock.block.timestamp
-                    val voteEndBlockTimestamp = voteEndBlock.block?.timestamp
-                        ?: (voteStartBlockTimestamp + (event.voteEnd - voteStartBlock.block.number) * BigInteger(
-                            BuildConfig.BLOCK_TIME
-                        ))
-                    val votes = governorContract.proposalVotes(event.proposalId).sendAsync().get()
-                    val votesFor = Token(votes.component1(), symbol)
-                    val votesAgainst = Token(votes.component2(), symbol)
-                    val votesAbstain = Token(votes.component3(), symbol)
-                    val proposal = Proposal(
-                        id = event.proposalId, proposer = event.proposer,
-                        description = event.description,
-                        voteStartBlock = event.voteStart, voteEndBlock = event.voteEnd,
-                        voteStartBlockTimestamp = Timestamp(voteStartBlockTimestamp.toLong() * 1000),
-                        voteEndBlockTimestamp = Timestamp(voteEndBlockTimestamp.toLong() * 1000),
-                        votesFor = votesFor,
-                        votesAgainst = votesAgainst,
-                        votesAbstain = votesAbstain
-                    )
-                    val currentProposals = _proposals.value.toMutableList()
-                    val index = currentProposals.indexOfFirst { it.id == proposal.id }
-                    if (index >= 0) {
-                        currentProposals[index] = proposal
-                    } else {
-                        currentProposals.add(proposal)
+    private suspend fun syncEvents(chainHead: ChainHead, pushedLogs: PushedLogs? = null) {
+        try {
+            _currentBlock.value = EthBlockNumber().apply {
+                result = Numeric.encodeQuantity(chainHead.number)
+            }
+            chainTime.onHead(chainHead)
+            if (timesUnknown) {
+                timesUnknown = false
+                proposalIndex.invalidate()
+            }
+            callCache.onNewHead(chainHead.number.toLong())
+            reorgGuard.reconcile(chainHead)?.let { ancestor ->
+                Log.w(TAG, "Chain reorganized, rolled events back to block $ancestor")
+                headerCache.invalidateAbove(ancestor)
+                callCache.invalidateAbove(ancestor)
+                chainTime.invalidateAbove(ancestor)
+                proposalIndex.clear()
+                tallies.clear()
+                receiptEvents.clear()
+                voterHistory.load(voterHistory.voter)
+                lifecycle.clear()
+                hydrateProposals()
+                pushedLogs?.resetCoverage(chainHead.number)
+            }
+            if (pushedLogs?.isCovering == false) pushedLogs.resetCoverage(chainHead.number)
+            val head = chainHead.number
+            syncContract(governorEvents, head, pushedLogs) { events ->
+                for (event in events) {
+                    if (!receiptEvents.remove(keyOf(event.transactionHash, event.logIndex.toLong()))) {
+                        governorDispatcher.dispatch(event.toLog())
                     }
-                    _proposals.value = currentProposals
-                },
-                { error ->
-                    Log.e(TAG, "Error fetching proposals", error)
                 }
-            )
+            }
+            transactions.onNewHead()
+            syncContract(tokenEvents, head, pushedLogs)
+            syncContract(timelockEvents(), head, pushedLogs)
+            // Derived state follows the stored events, which trail the head by a block in push mode
+            val synced = eventSync.lastSyncedBlock(governorEvents.address) ?: return
+            refreshDerivedFields(synced)
+            // Votes applied from receipts lie above the synced block, so the chain would not count them yet
+            if (++syncsSinceCheck >= checkInterval && receiptEvents.isEmpty()) {
+                verifyOpenProposals(synced)
+                syncsSinceCheck = 0
+                Log.d(TAG, "RPC reads: ${coalescingService.requests}, coalesced: ${coalescingService.coalescedHits}")
+            }
+        } catch (e: Exception) {
+            Log.e(TAG, "Error fetching proposals", e)
+        } finally {
+            publishProposals()
         }
     }
 
-    private fun startFetchingPeriodically() {
-        viewModelScope.launch(Dispatchers.IO) {
-            while (true) {
-                Log.d(TAG, "Fetching proposals")
-                fetchAllProposals()
-                delay(_delay * 30)
+    private suspend fun syncContract(
+        contract: SyncedContract,
+        head: BigInteger,
+        pushedLogs: PushedLogs?,
+        onEvents: (List<EventEntity>) -> Unit = {}
+    ) {
+        if (pushedLogs != null) {
+            // Heads and logs are pushed separately, so the logs of the newest block may still be on their way
+            val settled = head - BigInteger.ONE
+            val lastSynced = eventSync.lastSyncedBlock(contract.address)
+            if (lastSynced != null && lastSynced >= settled) return
+            val pushed = pushedLogs.take(contract.address, lastSynced, settled)
+            if (pushed != null) {
+                onEvents(eventSync.ingest(contract, pushed, settled))
+                return
+            }
+        }
+        eventSync.sync(contract, head, onEvents)
+    }
+
+    private fun hydrateProposals() {
+        for (event in eventDao.eventsOf(governorEvents.address)) {
+            governorDispatcher.dispatch(event.toLog())
+        }
+    }
+
+    private fun timelockEvents(): SyncedContract =
+        timelockEvents ?: SyncedContract(
+            metadata.get(governorAddress, ContractMetadata.TIMELOCK) { governorContract.timelock().send() },
+            listOf(TimeLock.CALLSCHEDULED_EVENT, TimeLock.CALLEXECUTED_EVENT)
+        ).also { timelockEvents = it }
+
+    private fun buildProposal(event: ProposalCreatedView): Proposal {
+        val tally = tallies[event.proposalId]
+        return Proposal(
+            id = event.proposalId, proposer = event.proposerAddress,
+            voteStartBlock = event.voteStart.toLong(), voteEndBlock = event.voteEnd.toLong()
+        ).withTally(tally)
+    }
+
+    private fun enrichPage(events: List<ProposalCreatedView>): List<Proposal?> =
+        events.map { event ->
+            proposalIndex[event.proposalId]?.copy(
+                description = event.descriptionPreview,
+                payload = event,
+                hasVoted = event.proposalId in voterHistory
+            )?.withTimes()
+        }
+
+    private fun refreshLoaded(loaded: Proposal): Proposal =
+        proposalIndex[loaded.id!!]?.copy(
+            description = loaded.description,
+            payload = loaded.payload,
+            hasVoted = loaded.id in voterHistory
+        )?.withTimes() ?: loaded
+
+    private fun Proposal.withTimes() = copy(
+        voteStartMillis = blockMillis(voteStartBlock),
+        voteEndMillis = blockMillis(voteEndBlock)
+    )
+
+    private fun blockMillis(block: Long) = try {
+        chainTime.timestampOf(block) * 1000
+    } catch (e: Exception) {
+        // No block samples yet, e.g. offline right after launch; the feed reloads on the next head
+        timesUnknown = true
+        Proposal.UNKNOWN_TIME
+    }
+
+    private fun estimatedBlockAt(millis: Long): Long = try {
+        chainTime.numberAt(millis / 1000)
+    } catch (e: Exception) {
+        // No block samples yet, e.g. offline right after launch; the anchor is fetched on the next head
+        _currentBlock.value?.blockNumber?.toLong() ?: 0
+    }
+
+    private fun applyVote(voter: String, proposalId: BigInteger, support: BigInteger, weight: BigInteger) {
+        voterHistory.onVote(voter, proposalId)
+        val tally = tallies.add(proposalId, support, weight)
+        proposalIndex[proposalId]?.let { upsertProposal(it.withTally(tally)) }
+    }
+
+    private fun refreshDerivedFields(head: BigInteger) {
+        val unsettled = proposalIndex.values.filter { it.state?.isFinal != true }
+        val missingQuorums = unsettled.filter { lifecycle.needsQuorum(it, head) }
+        val quorums = readGovernor(
+            missingQuorums.map { governorContract.quorum(BigInteger.valueOf(it.voteStartBlock)) },
+            DefaultBlockParameter.valueOf(head)
+        )
+        for ((proposal, quorum) in missingQuorums.zip(quorums)) {
+            lifecycle.setQuorum(proposal.id!!, quorum[0].value as BigInteger)
+        }
+        for (proposal in unsettled) {
+            val updated = proposal.copy(state = lifecycle.stateOf(proposal, tallies[proposal.id!!], head))
+            if (updated != proposal) upsertProposal(updated)
+        }
+    }
+
+    private fun verifyOpenProposals(head: BigInteger) {
+        val openProposals = proposalIndex.values.filter { it.voteEndBlock >= head.toLong() }
+        val block = DefaultBlockParameter.valueOf(head)
+        val votes = readGovernor(openProposals.map { governorContract.proposalVotes(it.id) }, block)
+        for ((proposal, proposalVotes) in openProposals.zip(votes)) {
+            val chainTally = VoteTally(proposalVotes.map { it.value as BigInteger })
+            if (chainTally != tallies[proposal.id!!]) {
+                Log.w(TAG, "Tally of proposal ${proposal.id} diverged from proposalVotes, resetting")
+                tallies[proposal.id] = chainTally
+                upsertProposal(proposal.withTally(chainTally))
+            }
+        }
+        val unsettled = proposalIndex.values.filter { it.state?.isFinal == false }
+        val states = readGovernor(unsettled.map { governorContract.state(it.id) }, block)
+        for ((proposal, state) in unsettled.zip(states)) {
+            val chainState = ProposalState.of((state[0].value as BigInteger).toInt())
+            if (chainState != proposal.state) {
+                Log.w(TAG, "State of proposal ${proposal.id} is $chainState on chain, ${proposal.state} locally")
+            }
+        }
+    }
+
+    private fun readGovernor(
+        calls: List<RemoteFunctionCall<*>>,
+        block: DefaultBlockParameter
+    ): List<List<Type<*>>> =
+        multicall?.aggregate(calls.map { Multicall.ContractCall(governorAddress, it) }, block)?.outputs
+            ?: batchingService.batch { calls.map { it.ethCallAsync(web3, governorAddress, block) } }
+                .map { it.get() }
+
+    fun proposalsStartedSince(timestamp: Long): Flow<List<Proposal>> =
+        proposals.map {
+            val since = chainTime.numberAt(timestamp)
+            detailed(proposalIndex.values.filter { it.voteStartBlock >= since })
+        }.flowOn(syncDispatcher)
+
+    fun proposalsWithState(vararg states: ProposalState): Flow<List<Proposal>> =
+        proposals.map { detailed(proposalIndex.values.filter { it.state in states }) }.flowOn(syncDispatcher)
+
+    /** Completes index entries, which hold neither descriptions nor times, outside the feed's pages. */
+    private fun detailed(proposals: List<Proposal>): List<Proposal> {
+        val descriptions = searchIndex.descriptionsOf(proposals.map { it.id!! })
+        return proposals.map {
+            it.copy(description = descriptions[it.id], hasVoted = it.id!! in voterHistory).withTimes()
+        }
+    }
+
+    /** @return proposals whose description matches [query], newest first */
+    suspend fun searchProposals(query: String): List<Proposal> = withContext(syncDispatcher) {
+        searchIndex.search(query).mapNotNull { (id, description) ->
+            proposalIndex[id]?.copy(description = description, hasVoted = id in voterHistory)?.withTimes()
+        }
+    }
+
+    /** Loads further pages of the feed as the list scrolls towards [position]. */
+    fun loadAround(position: Int) {
+        viewModelScope.launch(syncDispatcher) {
+            // The first page is loaded when the hydrated proposals are published
+            if (!hydrated) return@launch
+            try {
+                proposalPager.loadAround(position)?.let { _proposals.value = it }
+            } catch (e: Exception) {
+                Log.e(TAG, "Error loading proposals", e)
             }
         }
     }
 
-    private fun startUpdatingCurrentBlock() {
+    private fun Proposal.withTally(tally: VoteTally) = copy(
+        votesFor = TokenAmount.ofWei(tally[VoteDecision.FOR]),
+        votesAgainst = TokenAmount.ofWei(tally[VoteDecision.AGAINST]),
+        votesAbstain = TokenAmount.ofWei(tally[VoteDecision.ABSTAIN])
+    )
+
+    private fun upsertProposal(proposal: Proposal) = proposalIndex.upsert(proposal)
+
+    private fun publishProposals() {
+        val changes = proposalIndex.takeChanges() ?: return
+        try {
+            _proposals.value = proposalPager.apply(changes)
+        } catch (e: Exception) {
+            Log.e(TAG, "Error publishing proposals", e)
+            proposalIndex.invalidate()
+        }
+    }
+
+    private fun refreshVotedFlags() {
+        viewModelScope.launch(syncDispatcher) {
+            try {
+                voterHistory.load(address)
+                _proposals.value = proposalPager.updateAll { loaded ->
+                    loaded.map { it.copy(hasVoted = it.id!! in voterHistory) }
+                }
+            } catch (e: Exception) {
+                Log.e(TAG, "Error checking votes", e)
+            }
+        }
+    }
+
+    private fun refreshMetadata() {
         viewModelScope.launch(Dispatchers.IO) {
+            if (metadata.refresh(governorAddress, ContractMetadata.TIMELOCK) { governorContract.timelock().send() }) {
+                withContext(syncDispatcher) { timelockEvents = null }
+            }
+        }
+    }
+
+    private fun startSyncing() {
+        viewModelScope.launch(syncDispatcher) {
+            try {
+                hydrateProposals()
+            } catch (e: Exception) {
+                Log.e(TAG, "Error loading stored proposals", e)
+            }
+            hydrated = true
+            publishProposals()
             while (true) {
-                try {
-                    val blockNumber = web3.ethBlockNumber().sendAsync().get()
-                    _currentBlock.value = blockNumber
-                    Log.d(TAG, "Current block updated: ${blockNumber.blockNumber}")
-                } catch (e: Exception) {
-                    Log.e(TAG, "Error fetching current block", e)
+                if (BuildConfig.WS_RPC_URL.isNotBlank()) {
+                    try {
+                        followPushFeed()
+                    } catch (e: Exception) {
+                        Log.e(TAG, "Push feed disconnected, falling back to polling", e)
+                    }
+                }
+                repeat(pollsBeforeReconnect) {
+                    pollHead()?.let { syncEvents(it) }
+                    delay(_delay * BuildConfig.BLOCK_TIME.toInt())
+                }
+            }
+        }
+    }
+
+    private suspend fun followPushFeed() {
+        PushFeed(BuildConfig.WS_RPC_URL).use { feed ->
+            feed.connect()
+            val addresses = listOf(governorEvents.address, tokenEvents.address, timelockEvents().address)
+            val pushedLogs = PushedLogs(addresses)
+            coroutineScope {
+                launch(Dispatchers.IO) { feed.logs(addresses).collect { pushedLogs.add(it) } }
+                feed.heads().collect { head ->
+                    Log.d(TAG, "New head ${head.number}")
+                    syncEvents(head, pushedLogs)
                 }
-                delay(_delay * BuildConfig.BLOCK_TIME.toInt())
             }
         }
     }
 
+    private fun pollHead(): ChainHead? = try {
+        val block = web3.ethGetBlockByNumber(DefaultBlockParameter.valueOf("latest"), false)
+            .sendAsync().get().block
+        ChainHead(block.number, block.hash, block.parentHash, block.timestamp)
+    } catch (e: Exception) {
+        Log.e(TAG, "Error fetching current block", e)
+        null
+    }
+
     suspend fun createProposal(description: String): Result {
         val proposalCreationData = governorContract.propose(
             listOf(ethereum.selectedAddress),
@@ -213,13 +566,52 @@ class MainViewModel @Inject constructor(private val ethereum: EthereumFlow) : Vi
             method = EthereumMethod.ETH_SEND_TRANSACTION.value,
             params = listOf(params)
         )
-        return ethereum.sendRequest(transactionRequest)
+        val result = ethereum.sendRequest(transactionRequest)
+        if (result is Result.Success.Item) track(result.value)
+        return result
+    }
+
+    private fun track(transactionHash: String) {
+        viewModelScope.launch(syncDispatcher) {
+            transactions.track(transactionHash)
+            if (trackingJob?.isActive == true) return@launch
+            trackingJob = launch {
+                while (!transactions.isIdle) {
+                    try {
+                        transactions.poll().forEach { applyReceipt(it) }
+                    } catch (e: Exception) {
+                        Log.e(TAG, "Error polling transaction receipts", e)
+                    }
+                    delay(_delay)
+                }
+            }
+        }
     }
 
-    suspend fun hasVoted(proposalId: BigInteger): Boolean = withContext(Dispatchers.IO) {
-        governorContract.hasVoted(proposalId, ethereum.selectedAddress).sendAsync().get()
+    private fun applyReceipt(receipt: TransactionReceipt) {
+        if (!receipt.isStatusOK) {
+            Log.w(TAG, "Transaction ${receipt.transactionHash} reverted")
+            return
+        }
+        val synced = eventSync.lastSyncedBlock(governorEvents.address)
+        if (synced != null && synced >= receipt.blockNumber) return
+        // Dispatched in memory only: the sync stores these events once it reaches their block
+        val created = ArrayList<ProposalCreatedView>()
+        for (log in receipt.logs) {
+            if (!log.address.equals(governorEvents.address, ignoreCase = true)) continue
+            val topic0 = log.topics.firstOrNull() ?: continue
+            if (topic0 !in governorEvents.topics) continue
+            if (!receiptEvents.add(keyOf(log.transactionHash, log.logIndex.toLong()))) continue
+            governorDispatcher.dispatch(log)
+            if (topic0 == proposalCreatedTopic) created.add(ProposalCreatedDecoder.view(log))
+        }
+        refreshDerivedFields(_currentBlock.value?.blockNumber ?: receipt.blockNumber)
+        publishProposals()
+        if (created.isNotEmpty()) _proposals.value = proposalPager.addUnstored(created)
     }
 
+    private fun keyOf(transactionHash: String, logIndex: Long) = "$transactionHash:$logIndex"
+
     private fun fetchInstitutes() {
         viewModelScope.launch(Dispatchers.IO) {
             try {
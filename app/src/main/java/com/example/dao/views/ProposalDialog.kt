@@ -27,15 +27,15 @@ import androidx.compose.ui.tooling.preview.Preview
 import androidx.compose.ui.unit.dp
 import com.example.dao.R
 import com.example.dao.models.Account
+import com.example.dao.models.EthAddress
 import com.example.dao.models.Proposal
-import com.example.dao.models.Token
+import com.example.dao.models.TokenAmount
 import com.example.dao.models.VoteDecision
 import com.example.dao.viewmodels.MainViewModel
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.launch
 import java.math.BigInteger
-import java.sql.Timestamp
 import java.text.SimpleDateFormat
 import java.time.Instant
 import java.time.format.DateTimeFormatter
@@ -84,35 +84,45 @@ fun ProposalDialogContent(
             Column {
                 ProposalDetail(
                     stringResource(R.string.proposer),
-                    proposal.proposer ?: stringResource(R.string.not_available)
+                    proposal.proposer?.toString() ?: stringResource(R.string.not_available)
                 )
+                val payload = proposal.payload
+                val description = remember(payload) { payload?.description }
+                val actions = remember(payload) { payload?.targets?.joinToString("\n") }
                 ProposalDetail(
                     stringResource(R.string.description),
-                    proposal.description ?: stringResource(R.string.not_available)
+                    description ?: proposal.description ?: stringResource(R.string.not_available)
+                )
+                if (!actions.isNullOrEmpty()) {
+                    ProposalDetail(stringResource(R.string.actions), actions)
+                }
+                ProposalDetail(
+                    stringResource(R.string.state),
+                    proposal.state?.toString() ?: stringResource(R.string.not_available)
                 )
                 ProposalDetail(
                     stringResource(R.string.start_date),
-                    proposal.voteStartBlockTimestamp?.let { formatDateTime(it) }
+                    proposal.voteStartMillis.takeIf { it != Proposal.UNKNOWN_TIME }?.let { formatDateTime(it) }
                         ?: stringResource(R.string.not_available)
                 )
                 ProposalDetail(
                     stringResource(R.string.end_date),
-                    proposal.voteEndBlockTimestamp?.let { formatDateTime(it) }
+                    proposal.voteEndMillis.takeIf { it != Proposal.UNKNOWN_TIME }?.let { formatDateTime(it) }
                         ?: stringResource(R.string.not_available)
                 )
                 ProposalDetail(
                     stringResource(R.string.for_),
-                    proposal.votesFor?.toString() ?: stringResource(R.string.not_available)
+                    proposal.votesFor.toString()
                 )
                 ProposalDetail(
                     stringResource(R.string.against),
-                    proposal.votesAgainst?.toString() ?: stringResource(R.string.not_available)
+                    proposal.votesAgainst.toString()
                 )
                 ProposalDetail(
                     stringResource(R.string.abstain),
-                    proposal.votesAbstain?.toString() ?: stringResource(R.string.not_available)
+                    proposal.votesAbstain.toString()
                 )
-                if (isConnected && account?.address == currentAddress && !hasVoted && proposal.voteEndBlockTimestamp!!.time > System.currentTimeMillis()) {
+                if (isConnected && account?.address == currentAddress && !hasVoted && proposal.voteEndMillis > System.currentTimeMillis()) {
                     Spacer(modifier = Modifier.height(8.dp))
                     Column(
                         modifier = Modifier.fillMaxWidth(),
@@ -128,7 +138,7 @@ fun ProposalDialogContent(
             }
         },
         confirmButton = {
-            if (isConnected && account?.address == currentAddress && !hasVoted && proposal.voteEndBlockTimestamp!!.time > System.currentTimeMillis()) {
+            if (isConnected && account?.address == currentAddress && !hasVoted && proposal.voteEndMillis > System.currentTimeMillis()) {
                 Button(
                     onClick = { onCastVote(selectedVote!!) }
                 ) { Text(stringResource(id = R.string.cast_vote)) }
@@ -150,9 +160,9 @@ private fun ProposalDetail(label: String, value: String) {
     }
 }
 
-fun formatDateTime(dateTime: Timestamp): String {
+fun formatDateTime(millis: Long): String {
     val formatter = SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.UK)
-    return formatter.format(dateTime)
+    return formatter.format(millis)
 }
 
 @Composable
@@ -176,25 +186,21 @@ fun VoteButton(text: String, isSelected: Boolean, onClick: () -> Unit) {
 @Preview(showBackground = true)
 @Composable
 fun ProposalDialogPreview() {
-    val voteStartBlock: BigInteger = BigInteger.ZERO
-    val voteEndBlock: BigInteger = BigInteger.TEN
+    val voteStartBlock = 0L
+    val voteEndBlock = 10L
     val currentTime = System.currentTimeMillis()
     ProposalDialogContent(
         proposal = Proposal(
             id = BigInteger.ONE,
-            proposer = "0x54fd18a25591a716affed85356cbd89b050db7e2",
+            proposer = EthAddress.of("0x54fd18a25591a716affed85356cbd89b050db7e2"),
             description = "Считаете ли вы важным введение дополнительных мер по поддержке здоровья студентов?",
             voteStartBlock = voteStartBlock,
             voteEndBlock = voteEndBlock,
-            voteStartBlockTimestamp = Timestamp(currentTime),
-            voteEndBlockTimestamp = Timestamp(
-                currentTime + (voteEndBlock - voteStartBlock).multiply(
-                    BigInteger("100")
-                ).toLong()
-            ),
-            votesFor = Token(BigInteger.ONE),
-            votesAbstain = Token(BigInteger.ZERO),
-            votesAgainst = Token(BigInteger.ZERO)
+            voteStartMillis = currentTime,
+            voteEndMillis = currentTime + (voteEndBlock - voteStartBlock) * 100,
+            votesFor = TokenAmount.ofWei(BigInteger.ONE),
+            votesAbstain = TokenAmount.ZERO,
+            votesAgainst = TokenAmount.ZERO
         ),
         account = Account(
             "test@gmail.com",
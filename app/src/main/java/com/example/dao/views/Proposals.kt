@@ -10,77 +10,73 @@ import androidx.compose.foundation.layout.padding
 import androidx.compose.foundation.lazy.grid.GridCells
 import androidx.compose.foundation.lazy.grid.LazyVerticalGrid
 import androidx.compose.foundation.lazy.grid.items
+import androidx.compose.foundation.lazy.grid.rememberLazyGridState
 import androidx.compose.material3.CardDefaults
 import androidx.compose.material3.ElevatedCard
 import androidx.compose.material3.Text
 import androidx.compose.runtime.Composable
 import androidx.compose.runtime.LaunchedEffect
+import androidx.compose.runtime.State
+import androidx.compose.runtime.collectAsState
+import androidx.compose.runtime.derivedStateOf
 import androidx.compose.runtime.getValue
-import androidx.compose.runtime.mutableFloatStateOf
-import androidx.compose.runtime.mutableLongStateOf
 import androidx.compose.runtime.mutableStateOf
 import androidx.compose.runtime.remember
 import androidx.compose.runtime.setValue
+import androidx.compose.runtime.snapshotFlow
 import androidx.compose.ui.Modifier
 import androidx.compose.ui.graphics.Color
 import androidx.compose.ui.text.font.FontWeight
 import androidx.compose.ui.text.style.TextOverflow
 import androidx.compose.ui.tooling.preview.Preview
 import androidx.compose.ui.unit.dp
+import com.example.dao.models.BlockClock
+import com.example.dao.models.EthAddress
 import com.example.dao.models.Proposal
-import com.example.dao.models.Token
+import com.example.dao.models.TokenAmount
 import com.example.dao.viewmodels.MainViewModel
-import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.distinctUntilChanged
 import java.math.BigInteger
-import java.sql.Timestamp
 
 @Composable
 fun LazyProposals(proposals: List<Proposal>, mvm: MainViewModel) {
+    val clock = mvm.clock.collectAsState()
+    val gridState = rememberLazyGridState()
+    LaunchedEffect(gridState) {
+        snapshotFlow { gridState.layoutInfo.visibleItemsInfo.lastOrNull()?.index ?: 0 }
+            .distinctUntilChanged()
+            .collect { mvm.loadAround(it) }
+    }
     LazyVerticalGrid(
+        state = gridState,
         columns = GridCells.Fixed(1),
         contentPadding = PaddingValues(8.dp),
         verticalArrangement = Arrangement.spacedBy(8.dp)
     ) {
-        items(proposals) { proposal ->
-            ProposalCard(proposal, mvm)
+        items(proposals, key = { it.id!! }) { proposal ->
+            ProposalCard(proposal, clock, mvm)
         }
     }
 }
 
 @Composable
-fun ProposalCard(proposal: Proposal, mvm: MainViewModel) {
+fun ProposalCard(proposal: Proposal, clock: State<BlockClock>, mvm: MainViewModel) {
     var showDialog by remember { mutableStateOf(false) }
-    var timeLeft by remember { mutableLongStateOf(0L) }
-    var hasVoted by remember { mutableStateOf(false) }
-    var progress by remember { mutableFloatStateOf(0f) }
-
-    val startBlock = proposal.voteStartBlock ?: BigInteger.ZERO
-    val endBlock = proposal.voteEndBlock ?: BigInteger.ZERO
+    val hasVoted = mvm.connected && proposal.hasVoted
 
-    LaunchedEffect(key1 = mvm.connected, key2 = proposal.id) {
-        if (mvm.connected) {
-            val voted = mvm.hasVoted(proposal.id!!)
-            hasVoted = voted
-        } else {
-            hasVoted = false
-        }
+    val startBlock = proposal.voteStartBlock
+    val endBlock = proposal.voteEndBlock
+    val timeLeft by remember(proposal.voteEndMillis) {
+        derivedStateOf { ((proposal.voteEndMillis - clock.value.millis) / 1000).coerceAtLeast(0) }
     }
-
-    LaunchedEffect(key1 = proposal.voteEndBlockTimestamp) {
-        while (true) {
-            timeLeft = (proposal.voteEndBlockTimestamp?.time?.minus(System.currentTimeMillis())
-                ?: 0) / 1000
-            if (timeLeft < 0) timeLeft = 0
-
+    val progress by remember(startBlock, endBlock) {
+        derivedStateOf {
             val totalBlocks = endBlock - startBlock
-            val passedBlocks = mvm.currentBlock.value?.blockNumber?.minus(startBlock) ?: 0
-            progress = if (totalBlocks > BigInteger.ZERO) {
-                (passedBlocks.toFloat() / totalBlocks.toFloat()).coerceIn(0f, 1f)
+            if (totalBlocks > 0) {
+                ((clock.value.block - startBlock).toFloat() / totalBlocks).coerceIn(0f, 1f)
             } else {
                 0f
             }
-
-            delay(1000L)
         }
     }
 
@@ -131,6 +127,10 @@ fun ProposalCardContent(
                 overflow = TextOverflow.Ellipsis,
                 maxLines = 1
             )
+            proposal.state?.let {
+                Spacer(modifier = Modifier.height(8.dp))
+                Text(text = "Статус: $it", overflow = TextOverflow.Ellipsis, maxLines = 1)
+            }
             Spacer(modifier = Modifier.height(8.dp))
             Text(
                 text = "Оставшееся время: $timeLeft секунд",
@@ -144,25 +144,21 @@ fun ProposalCardContent(
 @Preview(showBackground = true)
 @Composable
 fun ProposalCardContentPreview() {
-    val voteStartBlock: BigInteger = BigInteger.ZERO
-    val voteEndBlock: BigInteger = BigInteger.TEN
+    val voteStartBlock = 0L
+    val voteEndBlock = 10L
     val currentTime = System.currentTimeMillis()
     ProposalCardContent(
         proposal = Proposal(
             id = BigInteger.ONE,
-            proposer = "0x54fd18a25591a716affed85356cbd89b050db7e2",
+            proposer = EthAddress.of("0x54fd18a25591a716affed85356cbd89b050db7e2"),
             description = "Считаете ли вы важным введение дополнительных мер по поддержке здоровья студентов?",
             voteStartBlock = voteStartBlock,
             voteEndBlock = voteEndBlock,
-            voteStartBlockTimestamp = Timestamp(currentTime),
-            voteEndBlockTimestamp = Timestamp(
-                currentTime + (voteEndBlock - voteStartBlock).multiply(
-                    BigInteger("100")
-                ).toLong()
-            ),
-            votesFor = Token(BigInteger.ONE),
-            votesAbstain = Token(BigInteger.ZERO),
-            votesAgainst = Token(BigInteger.ZERO)
+            voteStartMillis = currentTime,
+            voteEndMillis = currentTime + (voteEndBlock - voteStartBlock) * 100,
+            votesFor = TokenAmount.ofWei(BigInteger.ONE),
+            votesAbstain = TokenAmount.ZERO,
+            votesAgainst = TokenAmount.ZERO
         ),
         hasVoted = false, progress = 0f, timeLeft = 0L
     ) {
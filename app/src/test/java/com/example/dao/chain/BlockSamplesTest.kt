@@ -0,0 +1,79 @@
+package com.example.dao.chain
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertThrows
+import org.junit.Test
+
+class BlockSamplesTest {
+
+    @Test
+    fun interpolatesBetweenSamples() {
+        val samples = BlockSamples(defaultBlockTime = 5.0)
+        samples.add(100, 1_000)
+        samples.add(200, 2_200)
+
+        assertEquals(1_600L, samples.timestampOf(150))
+        assertEquals(150L, samples.numberAt(1_600))
+    }
+
+    @Test
+    fun extrapolatesWithFittedBlockTime() {
+        val samples = BlockSamples(defaultBlockTime = 5.0)
+        for (number in 0L..10L) samples.add(number, 1_000 + number * 12)
+
+        assertEquals(1_000L + 20 * 12, samples.timestampOf(20))
+        assertEquals(1_000L - 5 * 12, samples.timestampOf(-5))
+        assertEquals(20L, samples.numberAt(1_000 + 20 * 12))
+    }
+
+    @Test
+    fun usesDefaultBlockTimeWithOneSample() {
+        val samples = BlockSamples(defaultBlockTime = 5.0)
+        samples.add(100, 1_000)
+
+        assertEquals(1_050L, samples.timestampOf(110))
+    }
+
+    @Test
+    fun failsWithoutSamples() {
+        assertThrows(IllegalStateException::class.java) { BlockSamples(defaultBlockTime = 5.0).timestampOf(1) }
+    }
+
+    @Test
+    fun keepsOldAnchorWhileHeadsArrive() {
+        val samples = BlockSamples(defaultBlockTime = 12.0, maxSamples = 32, recentSamples = 8)
+        // Blocks were 20 s apart until block 5 000 and 12 s apart since
+        samples.add(0, 0)
+        for (number in 10_000L until 11_000L) samples.add(number, 5_000 * 20 + (number - 5_000) * 12)
+
+        assertEquals(32, samples.size)
+        assertEquals(0L, samples.timestampOf(0))
+        assertEquals(11_000L - 1, samples.newest)
+        // Interpolated against the anchor rather than extrapolated from the recent heads
+        assertEquals((5_000L * 20 + 5_000 * 12) / 2, samples.timestampOf(5_000))
+    }
+
+    @Test
+    fun spreadsDroppedSamplesOverTheHistory() {
+        val samples = BlockSamples(defaultBlockTime = 12.0, maxSamples = 32, recentSamples = 8)
+        // Block times that keep growing, so that only nearby samples interpolate well
+        for (number in 0L until 1_000L) samples.add(number, number * number / 10)
+
+        for (number in listOf(250L, 500L, 750L)) {
+            val actual = number * number / 10
+            assertEquals(actual.toDouble(), samples.timestampOf(number).toDouble(), actual * 0.01)
+        }
+    }
+
+    @Test
+    fun dropsSamplesAboveReorgAncestor() {
+        val samples = BlockSamples(defaultBlockTime = 12.0)
+        samples.add(100, 1_000)
+        samples.add(110, 1_120)
+        samples.add(111, 5_000)
+        samples.invalidateAbove(110)
+
+        assertEquals(110L, samples.newest)
+        assertEquals(1_240L, samples.timestampOf(120))
+    }
+}
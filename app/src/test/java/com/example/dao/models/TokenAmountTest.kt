@@ -0,0 +1,48 @@
+package com.example.dao.models
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotEquals
+import org.junit.Assert.assertSame
+import org.junit.Test
+import java.math.BigInteger
+
+class TokenAmountTest {
+
+    @Test
+    fun keepsWholeGweiAmountsExact() {
+        val wei = BigInteger("1500000000000000000")
+
+        assertEquals(wei, TokenAmount.ofWei(wei).wei)
+        assertEquals("1.5", TokenAmount.ofWei(wei).toString())
+    }
+
+    @Test
+    fun fallsBackToWeiBelowOneGwei() {
+        val wei = BigInteger("1000000000000000001")
+
+        assertEquals(wei, TokenAmount.ofWei(wei).wei)
+        assertEquals("1.000000000000000001", TokenAmount.ofWei(wei).toString())
+    }
+
+    @Test
+    fun fallsBackToWeiBeyondLongGwei() {
+        val wei = BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE).multiply(BigInteger.TEN.pow(9))
+
+        assertEquals(wei, TokenAmount.ofWei(wei).wei)
+    }
+
+    @Test
+    fun comparesByValue() {
+        val wei = BigInteger.TEN.pow(18)
+
+        assertEquals(TokenAmount.ofWei(wei), TokenAmount.ofWei(BigInteger.TEN.pow(18)))
+        assertEquals(TokenAmount.ofWei(wei).hashCode(), TokenAmount.ofWei(BigInteger.TEN.pow(18)).hashCode())
+        assertNotEquals(TokenAmount.ofWei(wei), TokenAmount.ofWei(wei.add(BigInteger.ONE)))
+    }
+
+    @Test
+    fun sharesZero() {
+        assertSame(TokenAmount.ZERO, TokenAmount.ofWei(BigInteger.ZERO))
+        assertEquals(BigInteger.ZERO, TokenAmount.ZERO.wei)
+    }
+}
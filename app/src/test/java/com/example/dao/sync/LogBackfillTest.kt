@@ -0,0 +1,139 @@
+package com.example.dao.sync
+
+import io.reactivex.Flowable
+import kotlinx.coroutines.runBlocking
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertThrows
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.web3j.protocol.Web3j
+import org.web3j.protocol.Web3jService
+import org.web3j.protocol.core.BatchRequest
+import org.web3j.protocol.core.BatchResponse
+import org.web3j.protocol.core.DefaultBlockParameterNumber
+import org.web3j.protocol.core.Request
+import org.web3j.protocol.core.Response
+import org.web3j.protocol.core.methods.request.EthFilter
+import org.web3j.protocol.core.methods.response.EthLog
+import org.web3j.protocol.core.methods.response.Log
+import org.web3j.protocol.websocket.events.Notification
+import org.web3j.utils.Numeric
+import java.io.IOException
+import java.math.BigInteger
+import java.util.concurrent.CompletableFuture
+
+class LogBackfillTest {
+
+    @Test
+    fun splitsChunksRejectedForTooManyResults() {
+        val service = FakeLogsService { range ->
+            if (range.last - range.first + 1 > 25) failure(-32005, "query returned more than 10000 results")
+            else logs(range.filter { it % 10 == 0L })
+        }
+        val fetched = fetchAll(LogBackfill(Web3j.build(service), initialRange = 100), 0, 99)
+
+        assertEquals((0L..99L step 10).toList(), fetched.logs.map { it.blockNumber.toLong() })
+        assertEquals(99L, fetched.syncedTo.last())
+    }
+
+    @Test
+    fun retriesRateLimitedChunksWithoutSplitting() {
+        var calls = 0
+        val service = FakeLogsService { range ->
+            if (++calls <= 2) failure(-32005, "project ID request rate exceeded") else logs(listOf(range.first))
+        }
+        val fetched = fetchAll(LogBackfill(Web3j.build(service), initialRange = 100, initialBackoffMillis = 1), 0, 99)
+
+        assertEquals(listOf(0L..99L, 0L..99L, 0L..99L), service.requested)
+        assertEquals(listOf(0L), fetched.logs.map { it.blockNumber.toLong() })
+    }
+
+    @Test
+    fun growsChunksWithinOneFetch() {
+        val service = FakeLogsService { logs(emptyList()) }
+        fetchAll(LogBackfill(Web3j.build(service), parallelism = 1, initialRange = 10), 0, 999)
+
+        assertEquals(0L..9L, service.requested.first())
+        assertTrue(service.requested[1].last - service.requested[1].first + 1 > 10)
+        assertTrue(service.requested.size < 10)
+    }
+
+    @Test
+    fun handsOverFetchedPrefixBeforeAFailingChunk() {
+        val service = FakeLogsService { range ->
+            if (range.first == 20L) failure(-32000, "internal error") else logs(listOf(range.first))
+        }
+        val backfill = LogBackfill(Web3j.build(service), parallelism = 1, initialRange = 10, smallResponse = 0)
+        val syncedTo = ArrayList<Long>()
+
+        assertThrows(IOException::class.java) {
+            runBlocking {
+                backfill.fetch(ADDRESS, listOf(TOPIC), BigInteger.ZERO, BigInteger.valueOf(29)) { _, to ->
+                    syncedTo.add(to.toLong())
+                }
+            }
+        }
+        assertEquals(listOf(9L, 19L), syncedTo)
+    }
+
+    private class Fetched(val logs: List<Log>, val syncedTo: List<Long>)
+
+    private fun fetchAll(backfill: LogBackfill, from: Long, to: Long): Fetched {
+        val logs = ArrayList<Log>()
+        val syncedTo = ArrayList<Long>()
+        runBlocking {
+            backfill.fetch(ADDRESS, listOf(TOPIC), BigInteger.valueOf(from), BigInteger.valueOf(to)) { part, end ->
+                logs.addAll(part)
+                syncedTo.add(end.toLong())
+            }
+        }
+        return Fetched(logs, syncedTo)
+    }
+
+    private fun logs(blocks: List<Long>) = EthLog().apply {
+        result = blocks.map<Long, EthLog.LogResult<*>> { block ->
+            EthLog.LogObject(
+                false, "0x0", "0x0", "0x${"%064x".format(block)}", "0x${"%064x".format(block)}",
+                Numeric.encodeQuantity(BigInteger.valueOf(block)), ADDRESS, "0x", null, listOf(TOPIC)
+            )
+        }
+    }
+
+    private fun failure(code: Int, message: String) = EthLog().apply { error = Response.Error(code, message) }
+
+    /** Answers `eth_getLogs` for the requested block range and records the ranges asked for. */
+    private class FakeLogsService(private val answer: (LongRange) -> EthLog) : Web3jService {
+        val requested = ArrayList<LongRange>()
+
+        override fun <T : Response<*>> send(request: Request<*, *>, responseType: Class<T>): T {
+            val filter = request.params[0] as EthFilter
+            val range = (filter.fromBlock as DefaultBlockParameterNumber).blockNumber.toLong()..
+                (filter.toBlock as DefaultBlockParameterNumber).blockNumber.toLong()
+            synchronized(requested) { requested.add(range) }
+            return responseType.cast(answer(range))
+        }
+
+        override fun <T : Response<*>> sendAsync(
+            request: Request<*, *>,
+            responseType: Class<T>
+        ): CompletableFuture<T> = CompletableFuture.completedFuture(send(request, responseType))
+
+        override fun sendBatch(batchRequest: BatchRequest): BatchResponse = throw UnsupportedOperationException()
+
+        override fun sendBatchAsync(batchRequest: BatchRequest): CompletableFuture<BatchResponse> =
+            throw UnsupportedOperationException()
+
+        override fun <T : Notification<*>> subscribe(
+            request: Request<*, *>,
+            unsubscribeMethod: String,
+            responseType: Class<T>
+        ): Flowable<T> = throw UnsupportedOperationException()
+
+        override fun close() {}
+    }
+
+    private companion object {
+        const val ADDRESS = "0x00000000000000000000000000000000000000aa"
+        const val TOPIC = "0x7d84a6263ae0d98d3329bd7b46bb4e8d6f98cd35a7adb45c274c8b7fd5ebd5e0"
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.dao.sync
+
+import KFUDAOGovernor
+import KFUDAOGovernor.ProposalCreatedEventResponse
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.web3j.abi.EventEncoder
+import org.web3j.protocol.core.methods.response.Log
+import org.web3j.utils.Numeric
+import java.math.BigInteger
+
+/**
+ * Checks the specialized decoder against the generated one on `ProposalCreated` logs encoded the
+ * way the governor emits them: a poll as created by the app, and a proposal with two actions and
+ * a description longer than the list preview.
+ */
+class ProposalCreatedDecoderTest {
+
+    @Test
+    fun decodesLikeTheGeneratedDecoder() {
+        for (name in FIXTURES) {
+            val log = fixture(name)
+            assertSameFields(KFUDAOGovernor.getProposalCreatedEventFromLog(log), ProposalCreatedDecoder.decode(log))
+        }
+    }
+
+    @Test
+    fun decodesPollCreatedByTheApp() {
+        val event = ProposalCreatedDecoder.decode(fixture("poll"))
+
+        assertEquals(
+            BigInteger("6a1d8e6c1f3a2b9d0e4c7f5a8b3d2e1f0a9c8b7d6e5f4a3b2c1d0e9f8a7b6c5d", 16),
+            event.proposalId
+        )
+        assertEquals("0x54fd18a25591a716affed85356cbd89b050db7e2", event.proposer)
+        assertEquals(listOf("0x54fd18a25591a716affed85356cbd89b050db7e2"), event.targets)
+        assertEquals(listOf(BigInteger.ZERO), event.values)
+        assertEquals(listOf(""), event.signatures)
+        assertArrayEquals(byteArrayOf(0), event.calldatas.single())
+        assertEquals(BigInteger.valueOf(5_871_234), event.voteStart)
+        assertEquals(BigInteger.valueOf(5_871_334), event.voteEnd)
+        assertEquals(
+            "Считаете ли вы важным введение дополнительных мер по поддержке здоровья студентов?",
+            event.description
+        )
+    }
+
+    @Test
+    fun previewsLongDescriptionsOnCharacterBoundaries() {
+        val view = ProposalCreatedDecoder.view(fixture("transfer"))
+
+        assertTrue(view.description.toByteArray().size > 256)
+        assertTrue(view.description.startsWith(view.descriptionPreview))
+        assertTrue(view.descriptionPreview.toByteArray().size in 255..256)
+    }
+
+    @Test
+    fun keepsShortDescriptionsWhole() {
+        val view = ProposalCreatedDecoder.view(fixture("poll"))
+
+        assertEquals(view.description, view.descriptionPreview)
+    }
+
+    private fun assertSameFields(expected: ProposalCreatedEventResponse, actual: ProposalCreatedEventResponse) {
+        assertEquals(expected.proposalId, actual.proposalId)
+        assertEquals(expected.proposer, actual.proposer)
+        assertEquals(expected.targets, actual.targets)
+        assertEquals(expected.values, actual.values)
+        assertEquals(expected.signatures, actual.signatures)
+        assertEquals(expected.calldatas.size, actual.calldatas.size)
+        expected.calldatas.zip(actual.calldatas).forEach { (e, a) -> assertArrayEquals(e, a) }
+        assertEquals(expected.voteStart, actual.voteStart)
+        assertEquals(expected.voteEnd, actual.voteEnd)
+        assertEquals(expected.description, actual.description)
+    }
+
+    private fun fixture(name: String): Log {
+        val data = javaClass.getResource("/fixtures/proposal-created-$name.hex")!!.readText().trim()
+        return Log(
+            false, "0x0", "0x0", TRANSACTION_HASH, BLOCK_HASH, "0x59967a", GOVERNOR, data, null,
+            listOf(EventEncoder.encode(KFUDAOGovernor.PROPOSALCREATED_EVENT))
+        )
+    }
+
+    private companion object {
+        val FIXTURES = listOf("poll", "transfer")
+        const val GOVERNOR = "0xcf7ed3acca5a467e9e704c703e8d87f634fb0fc9"
+        val TRANSACTION_HASH = Numeric.toHexStringWithPrefixZeroPadded(BigInteger.ONE, 64)
+        val BLOCK_HASH = Numeric.toHexStringWithPrefixZeroPadded(BigInteger.valueOf(2), 64)
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.dao.sync
+
+import com.example.dao.models.Proposal
+import com.example.dao.models.ProposalState
+import com.example.dao.models.VoteDecision
+import com.example.dao.models.VoteTally
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.math.BigInteger
+
+class ProposalLifecycleTest {
+    private val lifecycle = ProposalLifecycle()
+    private val proposal = Proposal(id = BigInteger.ONE, voteStartBlock = 100, voteEndBlock = 200)
+
+    @Test
+    fun followsTheVotingWindow() {
+        assertEquals(ProposalState.PENDING, lifecycle.stateOf(proposal, VoteTally(), head(100)))
+        assertEquals(ProposalState.ACTIVE, lifecycle.stateOf(proposal, VoteTally(), head(101)))
+        assertEquals(ProposalState.ACTIVE, lifecycle.stateOf(proposal, VoteTally(), head(200)))
+    }
+
+    @Test
+    fun needsQuorumOnceVotingEnded() {
+        assertFalse(lifecycle.needsQuorum(proposal, head(200)))
+        assertTrue(lifecycle.needsQuorum(proposal, head(201)))
+        assertNull(lifecycle.stateOf(proposal, VoteTally(), head(201)))
+
+        lifecycle.setQuorum(proposal.id!!, BigInteger.TEN)
+        assertFalse(lifecycle.needsQuorum(proposal, head(201)))
+    }
+
+    @Test
+    fun countsForAndAbstainTowardsQuorum() {
+        lifecycle.setQuorum(proposal.id!!, BigInteger.TEN)
+
+        assertEquals(ProposalState.DEFEATED, lifecycle.stateOf(proposal, tally(forVotes = 6, abstain = 3), head(201)))
+        assertEquals(ProposalState.SUCCEEDED, lifecycle.stateOf(proposal, tally(forVotes = 6, abstain = 4), head(201)))
+    }
+
+    @Test
+    fun needsMoreForThanAgainstVotes() {
+        lifecycle.setQuorum(proposal.id!!, BigInteger.TEN)
+
+        assertEquals(ProposalState.DEFEATED, lifecycle.stateOf(proposal, tally(forVotes = 10, against = 10), head(201)))
+        assertEquals(ProposalState.SUCCEEDED, lifecycle.stateOf(proposal, tally(forVotes = 11, against = 10), head(201)))
+    }
+
+    @Test
+    fun appliesQueuedExecutedAndCanceledEvents() {
+        lifecycle.setQuorum(proposal.id!!, BigInteger.TEN)
+        val passed = tally(forVotes = 20)
+
+        lifecycle.markQueued(proposal.id!!)
+        assertEquals(ProposalState.QUEUED, lifecycle.stateOf(proposal, passed, head(201)))
+        lifecycle.markExecuted(proposal.id!!)
+        assertEquals(ProposalState.EXECUTED, lifecycle.stateOf(proposal, passed, head(201)))
+
+        lifecycle.markCanceled(BigInteger.valueOf(2))
+        assertEquals(ProposalState.CANCELED, lifecycle.stateOf(proposal.copy(id = BigInteger.valueOf(2)), passed, head(150)))
+    }
+
+    @Test
+    fun forgetsEverythingOnClear() {
+        lifecycle.setQuorum(proposal.id!!, BigInteger.TEN)
+        lifecycle.markExecuted(proposal.id!!)
+        lifecycle.clear()
+
+        assertNull(lifecycle.stateOf(proposal, tally(forVotes = 20), head(201)))
+    }
+
+    private fun head(number: Long) = BigInteger.valueOf(number)
+
+    private fun tally(forVotes: Long = 0, against: Long = 0, abstain: Long = 0) = VoteTally()
+        .plus(VoteDecision.FOR.value, BigInteger.valueOf(forVotes))
+        .plus(VoteDecision.AGAINST.value, BigInteger.valueOf(against))
+        .plus(VoteDecision.ABSTAIN.value, BigInteger.valueOf(abstain))
+}
@@ -0,0 +1,37 @@
+package com.example.dao.sync
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Test
+
+class ProposalSearchIndexTest {
+
+    @Test
+    fun matchesBareWordsAsPrefixes() {
+        assertEquals("совет* студ*", ProposalSearchIndex.matchExpression("совет студ"))
+    }
+
+    @Test
+    fun matchesQuotedTextAsPhrase() {
+        assertEquals(
+            "\"здоровья студентов\" мер*",
+            ProposalSearchIndex.matchExpression("\"здоровья студентов\" мер")
+        )
+    }
+
+    @Test
+    fun treatsUnclosedQuoteAsPhrase() {
+        assertEquals("a* \"b c\"", ProposalSearchIndex.matchExpression("a \"b c"))
+    }
+
+    @Test
+    fun dropsQuerySyntaxCharacters() {
+        assertEquals("foo* bar* baz* 2024*", ProposalSearchIndex.matchExpression("foo-bar (baz*) ^2024:"))
+    }
+
+    @Test
+    fun ignoresQueriesWithoutWords() {
+        assertNull(ProposalSearchIndex.matchExpression(""))
+        assertNull(ProposalSearchIndex.matchExpression(" \"\" *-"))
+    }
+}
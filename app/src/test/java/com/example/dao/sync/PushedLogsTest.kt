@@ -0,0 +1,78 @@
+package com.example.dao.sync
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Test
+import org.web3j.protocol.core.methods.response.Log
+import org.web3j.utils.Numeric
+import java.math.BigInteger
+
+class PushedLogsTest {
+
+    @Test
+    fun fetchesUntilCoverageIsReset() {
+        val pushed = PushedLogs(listOf(GOVERNOR, TOKEN))
+        pushed.add(log(GOVERNOR, 11))
+
+        assertNull(pushed.take(GOVERNOR, block(10), block(11)))
+    }
+
+    @Test
+    fun fetchesRangesStartingBeforeCoverage() {
+        val pushed = PushedLogs(listOf(GOVERNOR, TOKEN))
+        pushed.resetCoverage(block(10))
+
+        assertNull(pushed.take(GOVERNOR, block(8), block(11)))
+    }
+
+    @Test
+    fun fetchesAddressesNotSubscribedTo() {
+        val pushed = PushedLogs(listOf(GOVERNOR))
+        pushed.resetCoverage(block(10))
+
+        assertNull(pushed.take(TOKEN, block(10), block(11)))
+    }
+
+    @Test
+    fun takesLogsOfAddressInRangeOnly() {
+        val pushed = PushedLogs(listOf(GOVERNOR, TOKEN))
+        pushed.resetCoverage(block(10))
+        listOf(log(GOVERNOR, 11), log(TOKEN, 11), log(GOVERNOR, 12), log(GOVERNOR, 13)).forEach(pushed::add)
+
+        assertEquals(listOf(11L, 12L), pushed.take(GOVERNOR, block(10), block(12))!!.map { it.blockNumber.toLong() })
+        assertEquals(listOf(11L), pushed.take(TOKEN, block(10), block(12))!!.map { it.blockNumber.toLong() })
+        assertEquals(listOf(13L), pushed.take(GOVERNOR, block(12), block(13))!!.map { it.blockNumber.toLong() })
+    }
+
+    @Test
+    fun keepsLogsOfLaterBlocksForTheNextTake() {
+        val pushed = PushedLogs(listOf(GOVERNOR, TOKEN))
+        pushed.resetCoverage(block(10))
+        pushed.add(log(GOVERNOR, 12))
+
+        assertEquals(emptyList<Log>(), pushed.take(GOVERNOR, block(10), block(11)))
+        assertEquals(listOf(12L), pushed.take(GOVERNOR, block(11), block(12))!!.map { it.blockNumber.toLong() })
+    }
+
+    @Test
+    fun resetDropsLogsUpToTheHead() {
+        val pushed = PushedLogs(listOf(GOVERNOR, TOKEN))
+        pushed.resetCoverage(block(10))
+        listOf(log(GOVERNOR, 11), log(GOVERNOR, 13)).forEach(pushed::add)
+        pushed.resetCoverage(block(12))
+
+        assertEquals(listOf(13L), pushed.take(GOVERNOR, block(12), block(13))!!.map { it.blockNumber.toLong() })
+    }
+
+    private fun block(number: Long) = BigInteger.valueOf(number)
+
+    private fun log(address: String, block: Long) = Log(
+        false, "0x0", "0x0", "0x${"%064x".format(block)}", "0x${"%064x".format(block)}",
+        Numeric.encodeQuantity(BigInteger.valueOf(block)), address, "0x", null, emptyList()
+    )
+
+    private companion object {
+        const val GOVERNOR = "0x00000000000000000000000000000000000000aa"
+        const val TOKEN = "0x00000000000000000000000000000000000000bb"
+    }
+}